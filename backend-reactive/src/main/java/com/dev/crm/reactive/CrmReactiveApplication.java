@@ -0,0 +1,18 @@
+package com.dev.crm.reactive;
+
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.autoconfigure.SpringBootApplication;
+
+/**
+ * Reactive variant of the customer API: WebFlux on Netty with R2DBC, no servlet threads
+ * or JDBC connections held while a request waits on the database.
+ * Shares DTOs, CustomerMapper, pagination and exceptions with the servlet backend.
+ */
+@SpringBootApplication(scanBasePackages = {"com.dev.crm.reactive", "com.dev.crm.mapper"})
+public class CrmReactiveApplication {
+
+	public static void main(String[] args) {
+		SpringApplication.run(CrmReactiveApplication.class, args);
+	}
+
+}
@@ -0,0 +1,41 @@
+package com.dev.crm.reactive.changes;
+
+import com.dev.crm.event.CustomerChangedEvent;
+import lombok.RequiredArgsConstructor;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.time.LocalDateTime;
+
+/**
+ * Writes customer changes made here into the customer_changes outbox, in the caller's
+ * R2DBC transaction: the row commits or rolls back with the change. Servlet nodes tail
+ * this table for the change feed and sync, so reactive writes reach their clients too.
+ * Rows are stamped at insert, the last statement before commit, like the servlet outbox.
+ */
+@Component
+@RequiredArgsConstructor
+public class ReactiveCustomerChangeOutbox {
+
+    private static final String INSERT =
+        "INSERT INTO customer_changes (id, customer_id, change_type, payload, changed_at) " +
+        "VALUES (customer_changes_seq.NEXTVAL, :customerId, :type, :payload, :changedAt)";
+
+    private final DatabaseClient databaseClient;
+    private final JsonMapper jsonMapper;
+
+    public Mono<Void> record(CustomerChangedEvent event) {
+        return Mono.defer(() -> {
+            DatabaseClient.GenericExecuteSpec spec = databaseClient.sql(INSERT)
+                .bind("customerId", event.id())
+                .bind("type", event.type().name())
+                .bind("changedAt", LocalDateTime.now());
+            spec = event.customer() == null
+                ? spec.bindNull("payload", String.class)
+                : spec.bind("payload", jsonMapper.writeValueAsString(event.customer()));
+            return spec.fetch().rowsUpdated().then();
+        });
+    }
+}
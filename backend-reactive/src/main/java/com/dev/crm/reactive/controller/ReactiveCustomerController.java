@@ -0,0 +1,91 @@
+package com.dev.crm.reactive.controller;
+
+import com.dev.crm.dto.CustomerCreateDTO;
+import com.dev.crm.dto.CustomerDTO;
+import com.dev.crm.dto.CustomerPageDTO;
+import com.dev.crm.dto.CustomerSummaryDTO;
+import com.dev.crm.dto.CustomerUpdateDTO;
+import com.dev.crm.reactive.service.ReactiveCustomerService;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Customer REST Controller, reactive
+ * Same /api/customers contract as the servlet CustomerController
+ */
+@RestController
+@RequestMapping("/api/customers")
+@RequiredArgsConstructor
+public class ReactiveCustomerController {
+
+    private final ReactiveCustomerService customerService;
+
+    /**
+     * Get customers, one keyset page at a time
+     */
+    @GetMapping
+    public Mono<CustomerPageDTO<CustomerSummaryDTO>> getAllCustomers(
+        @RequestParam(required = false) String cursor,
+        @RequestParam(required = false) Integer size,
+        @RequestParam(required = false) String sort,
+        @RequestParam(required = false) String direction
+    ) {
+        return customerService.getCustomerPage(cursor, size, sort, direction);
+    }
+
+    /**
+     * Export all customers as newline-delimited JSON
+     * Each line is written as it arrives; a slow client slows down the row fetches instead of buffering
+     */
+    @GetMapping(value = "/export", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public Flux<CustomerDTO> exportCustomers() {
+        return customerService.exportCustomers();
+    }
+
+    /**
+     * Get customer by ID
+     */
+    @GetMapping("/{id}")
+    public Mono<CustomerDTO> getCustomerById(@PathVariable Long id) {
+        return customerService.getCustomerById(id);
+    }
+
+    /**
+     * Create new customer
+     */
+    @PostMapping
+    @ResponseStatus(HttpStatus.CREATED)
+    public Mono<CustomerDTO> createCustomer(@Valid @RequestBody CustomerCreateDTO createDTO) {
+        return customerService.createCustomer(createDTO);
+    }
+
+    /**
+     * Update customer (full update)
+     */
+    @PutMapping("/{id}")
+    public Mono<CustomerDTO> updateCustomer(@PathVariable Long id, @Valid @RequestBody CustomerUpdateDTO updateDTO) {
+        return customerService.updateCustomer(id, updateDTO);
+    }
+
+    /**
+     * Partial update customer
+     */
+    @PatchMapping("/{id}")
+    public Mono<CustomerDTO> partialUpdateCustomer(@PathVariable Long id, @RequestBody CustomerUpdateDTO updateDTO) {
+        return customerService.partialUpdateCustomer(id, updateDTO);
+    }
+
+    /**
+     * Delete customer
+     */
+    @DeleteMapping("/{id}")
+    @ResponseStatus(HttpStatus.NO_CONTENT)
+    public Mono<Void> deleteCustomer(@PathVariable Long id) {
+        return customerService.deleteCustomer(id);
+    }
+}
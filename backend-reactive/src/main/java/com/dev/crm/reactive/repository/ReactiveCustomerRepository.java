@@ -0,0 +1,182 @@
+package com.dev.crm.reactive.repository;
+
+import com.dev.crm.dto.CustomerSummaryDTO;
+import com.dev.crm.entity.Customer;
+import com.dev.crm.pagination.CustomerCursor;
+import com.dev.crm.pagination.CustomerSortField;
+import io.r2dbc.spi.Readable;
+import lombok.RequiredArgsConstructor;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDateTime;
+
+/**
+ * Non-blocking access to the customers table through R2DBC
+ * Plain SQL over DatabaseClient, mapped into the shared Customer class so CustomerMapper
+ * applies unchanged; the JPA annotations on it are simply not used here.
+ */
+@Repository
+@RequiredArgsConstructor
+public class ReactiveCustomerRepository {
+
+    private static final String COLUMNS =
+        "id, first_name, last_name, email, phone_number, company_name, notes, created_at, updated_at, version";
+
+    private static final String SUMMARY_COLUMNS =
+        "id, first_name, last_name, email, phone_number, company_name, created_at, updated_at";
+
+    private final DatabaseClient databaseClient;
+
+    public Mono<Customer> findById(Long id) {
+        return databaseClient.sql("SELECT " + COLUMNS + " FROM customers WHERE id = :id")
+            .bind("id", id)
+            .map(ReactiveCustomerRepository::toCustomer)
+            .one();
+    }
+
+    /**
+     * One keyset page in scan order, same seek predicates as the JPA repository
+     */
+    public Flux<CustomerSummaryDTO> findKeysetPage(CustomerCursor cursor, int limit) {
+        CustomerSortField sort = cursor.sort();
+        String key = column(sort);
+        String op = cursor.scanAscending() ? ">" : "<";
+        String order = cursor.scanAscending() ? "ASC" : "DESC";
+
+        StringBuilder sql = new StringBuilder("SELECT ").append(SUMMARY_COLUMNS).append(" FROM customers");
+        if (!cursor.isFirst()) {
+            if (sort.isId()) {
+                sql.append(" WHERE id ").append(op).append(" :id");
+            } else {
+                sql.append(" WHERE ").append(key).append(' ').append(op).append(" :key")
+                    .append(" OR (").append(key).append(" = :key AND id ").append(op).append(" :id)");
+            }
+        }
+        sql.append(" ORDER BY ");
+        if (!sort.isId()) {
+            sql.append(key).append(' ').append(order).append(", ");
+        }
+        sql.append("id ").append(order).append(" FETCH FIRST ").append(limit).append(" ROWS ONLY");
+
+        DatabaseClient.GenericExecuteSpec spec = databaseClient.sql(sql.toString());
+        if (!cursor.isFirst()) {
+            spec = spec.bind("id", cursor.id());
+            if (!sort.isId()) {
+                spec = spec.bind("key", cursor.key());
+            }
+        }
+        return spec.map(ReactiveCustomerRepository::toSummary).all();
+    }
+
+    /**
+     * Every customer in id order; rows are requested from the driver as the subscriber demands them
+     */
+    public Flux<Customer> streamAll() {
+        return databaseClient.sql("SELECT " + COLUMNS + " FROM customers ORDER BY id")
+            .map(ReactiveCustomerRepository::toCustomer)
+            .all();
+    }
+
+    /**
+     * Insert with an id from customers_seq; the unique email constraint surfaces as DataIntegrityViolationException
+     */
+    public Mono<Customer> insert(Customer customer) {
+        return databaseClient.sql("SELECT customers_seq.NEXTVAL FROM dual")
+            .map(row -> row.get(0, Long.class))
+            .one()
+            .flatMap(id -> {
+                customer.setId(id);
+                customer.setVersion(0L);
+                return bindCustomer(databaseClient.sql(
+                        "INSERT INTO customers (" + COLUMNS + ") VALUES " +
+                        "(:id, :firstName, :lastName, :email, :phoneNumber, :companyName, :notes, " +
+                        ":createdAt, :updatedAt, :version)"), customer)
+                    .bind("createdAt", customer.getCreatedAt())
+                    .fetch()
+                    .rowsUpdated()
+                    .thenReturn(customer);
+            });
+    }
+
+    /**
+     * Update guarded by the version the customer was read with
+     * Emits the customer with its new version, or completes empty when the row changed meanwhile
+     */
+    public Mono<Customer> update(Customer customer) {
+        long readVersion = customer.getVersion();
+        return bindCustomer(databaseClient.sql(
+                "UPDATE customers SET first_name = :firstName, last_name = :lastName, email = :email, " +
+                "phone_number = :phoneNumber, company_name = :companyName, notes = :notes, " +
+                "updated_at = :updatedAt, version = :version + 1 " +
+                "WHERE id = :id AND version = :version"), customer)
+            .fetch()
+            .rowsUpdated()
+            .filter(count -> count > 0)
+            .map(count -> {
+                customer.setVersion(readVersion + 1);
+                return customer;
+            });
+    }
+
+    public Mono<Long> deleteById(Long id) {
+        return databaseClient.sql("DELETE FROM customers WHERE id = :id")
+            .bind("id", id)
+            .fetch()
+            .rowsUpdated();
+    }
+
+    // Parameters shared by INSERT and UPDATE; created_at is only bound by the INSERT
+    private static DatabaseClient.GenericExecuteSpec bindCustomer(DatabaseClient.GenericExecuteSpec spec, Customer customer) {
+        spec = spec.bind("id", customer.getId())
+            .bind("firstName", customer.getFirstName())
+            .bind("lastName", customer.getLastName())
+            .bind("email", customer.getEmail())
+            .bind("updatedAt", customer.getUpdatedAt())
+            .bind("version", customer.getVersion());
+        spec = bindNullable(spec, "phoneNumber", customer.getPhoneNumber());
+        spec = bindNullable(spec, "companyName", customer.getCompanyName());
+        return bindNullable(spec, "notes", customer.getNotes());
+    }
+
+    private static DatabaseClient.GenericExecuteSpec bindNullable(DatabaseClient.GenericExecuteSpec spec,
+                                                                  String name, String value) {
+        return value == null ? spec.bindNull(name, String.class) : spec.bind(name, value);
+    }
+
+    private static String column(CustomerSortField sort) {
+        return switch (sort) {
+            case ID -> "id";
+            case CREATED_AT -> "created_at";
+            case LAST_NAME -> "last_name";
+        };
+    }
+
+    private static Customer toCustomer(Readable row) {
+        return new Customer(
+            row.get("id", Long.class),
+            row.get("first_name", String.class),
+            row.get("last_name", String.class),
+            row.get("email", String.class),
+            row.get("phone_number", String.class),
+            row.get("company_name", String.class),
+            row.get("notes", String.class),
+            row.get("created_at", LocalDateTime.class),
+            row.get("updated_at", LocalDateTime.class),
+            row.get("version", Long.class));
+    }
+
+    private static CustomerSummaryDTO toSummary(Readable row) {
+        return new CustomerSummaryDTO(
+            row.get("id", Long.class),
+            row.get("first_name", String.class),
+            row.get("last_name", String.class),
+            row.get("email", String.class),
+            row.get("phone_number", String.class),
+            row.get("company_name", String.class),
+            row.get("created_at", LocalDateTime.class),
+            row.get("updated_at", LocalDateTime.class));
+    }
+}
@@ -0,0 +1,71 @@
+package com.dev.crm.reactive.security;
+
+import com.dev.crm.security.JwtPrincipal;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.JwtParser;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.authentication.BadCredentialsException;
+import org.springframework.security.authentication.ReactiveAuthenticationManager;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Authenticates bearer tokens issued by the servlet backend's JwtTokenProvider
+ * The signature and expiry are checked in memory and the role comes from the token's
+ * claims; there is no user lookup per request. Tokens revoked by logout, and tokens
+ * issued before their account was disabled or changed, are rejected from the polled
+ * revocation state, same as in the servlet backend.
+ */
+@Component
+public class JwtReactiveAuthenticationManager implements ReactiveAuthenticationManager {
+
+    private final JwtParser parser;
+    private final ReactiveTokenRevocations tokenRevocations;
+    private final ReactiveUserRevocations userRevocations;
+
+    public JwtReactiveAuthenticationManager(
+        @Value("${app.jwt.secret:MySecretKeyForJWTTokenGenerationThatIsAtLeast256BitsLongForHS256Algorithm}") String jwtSecret,
+        ReactiveTokenRevocations tokenRevocations,
+        ReactiveUserRevocations userRevocations
+    ) {
+        this.tokenRevocations = tokenRevocations;
+        this.userRevocations = userRevocations;
+        this.parser = Jwts.parser()
+            .verifyWith(Keys.hmacShaKeyFor(jwtSecret.getBytes(StandardCharsets.UTF_8)))
+            .build();
+    }
+
+    @Override
+    public Mono<Authentication> authenticate(Authentication authentication) {
+        return Mono.fromCallable(() -> {
+            String token = (String) authentication.getCredentials();
+            JwtPrincipal principal;
+            try {
+                Claims claims = parser.parseSignedClaims(token).getPayload();
+                Long id = claims.get("uid", Long.class);
+                String role = claims.get("role", String.class);
+                Long tokenVersion = claims.get("tv", Long.class);
+                if (id == null || role == null || tokenVersion == null || claims.getId() == null
+                        || claims.getIssuedAt() == null || claims.getExpiration() == null
+                        || !Boolean.TRUE.equals(claims.get("enabled", Boolean.class))) {
+                    throw new BadCredentialsException("JWT token lacks user claims or belongs to a disabled account");
+                }
+                principal = new JwtPrincipal(id, claims.getSubject(), role, claims.getId(), tokenVersion,
+                    claims.getIssuedAt().toInstant(), claims.getExpiration().toInstant());
+            } catch (JwtException | IllegalArgumentException e) {
+                throw new BadCredentialsException("Invalid JWT token", e);
+            }
+            if (tokenRevocations.isRevoked(principal) || userRevocations.isRevoked(principal)) {
+                throw new BadCredentialsException("JWT token has been revoked");
+            }
+            return UsernamePasswordAuthenticationToken.authenticated(principal, token, principal.authorities());
+        });
+    }
+}
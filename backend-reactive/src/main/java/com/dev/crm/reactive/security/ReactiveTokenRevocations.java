@@ -0,0 +1,117 @@
+package com.dev.crm.reactive.security;
+
+import com.dev.crm.security.BloomFilter;
+import com.dev.crm.security.JwtPrincipal;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Component;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.temporal.ChronoUnit;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Access tokens revoked through the servlet backend (logout), as time-bucketed Bloom filters
+ * Same scheme as the servlet TokenRevocations: the revoked_tokens table is polled over R2DBC,
+ * never read per request. Revocations are only recorded by the servlet backend, so there is
+ * no revoke() and no purge here.
+ */
+@Slf4j
+@Component
+public class ReactiveTokenRevocations {
+
+    private final DatabaseClient databaseClient;
+    private final long tokenLifetimeMs;
+
+    @Value("${app.jwt.revocation.poll-seconds:5}")
+    private long pollSeconds;
+
+    @Value("${app.jwt.revocation.overlap-seconds:10}")
+    private long overlapSeconds;
+
+    @Value("${app.jwt.revocation.bucket-seconds:60}")
+    private long bucketSeconds;
+
+    // Per bucket; rounded up to a power of two
+    @Value("${app.jwt.revocation.bloom-bits:65536}")
+    private int bloomBits;
+
+    // expiry bucket number -> filter of the jtis expiring in it
+    private final Map<Long, BloomFilter> buckets = new ConcurrentHashMap<>();
+    private volatile LocalDateTime lastPoll;
+    private volatile Disposable polling;
+
+    public ReactiveTokenRevocations(DatabaseClient databaseClient,
+                                    @Value("${app.jwt.expiration:900000}") long tokenLifetimeMs) {
+        this.databaseClient = databaseClient;
+        this.tokenLifetimeMs = tokenLifetimeMs;
+    }
+
+    /**
+     * Loads the revocations of every token that could still be valid before requests are
+     * served, then keeps polling in the background
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        lastPoll = LocalDateTime.now().minus(tokenLifetimeMs, ChronoUnit.MILLIS);
+        poll().block();
+        polling = Flux.interval(Duration.ofSeconds(pollSeconds))
+            .onBackpressureDrop()
+            .concatMap(tick -> poll())
+            .subscribe();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        if (polling != null) {
+            polling.dispose();
+        }
+    }
+
+    /**
+     * Whether this token was revoked; no allocation and no I/O
+     */
+    public boolean isRevoked(JwtPrincipal principal) {
+        BloomFilter filter = buckets.get(bucketOf(principal.expiresAt()));
+        return filter != null && filter.mightContain(principal.tokenId());
+    }
+
+    private long bucketOf(Instant expiresAt) {
+        return expiresAt.getEpochSecond() / bucketSeconds;
+    }
+
+    private Mono<Void> poll() {
+        LocalDateTime now = LocalDateTime.now();
+        return databaseClient.sql("SELECT jti, expires_at FROM revoked_tokens WHERE revoked_at > :since AND expires_at > :now")
+            .bind("since", lastPoll.minusSeconds(overlapSeconds))
+            .bind("now", now)
+            .map(row -> {
+                Instant expiresAt = row.get("expires_at", LocalDateTime.class).atZone(ZoneId.systemDefault()).toInstant();
+                buckets.computeIfAbsent(bucketOf(expiresAt), bucket -> new BloomFilter(bloomBits))
+                    .add(row.get("jti", String.class));
+                return expiresAt;
+            })
+            .all()
+            .then(Mono.fromRunnable(() -> {
+                lastPoll = now;
+                long current = bucketOf(Instant.now());
+                buckets.keySet().removeIf(bucket -> bucket < current);
+            }))
+            .onErrorResume(e -> {
+                log.warn("Could not poll revoked tokens", e);
+                return Mono.empty();
+            })
+            .then();
+    }
+}
@@ -0,0 +1,106 @@
+package com.dev.crm.reactive.security;
+
+import com.dev.crm.security.JwtPrincipal;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Component;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.temporal.ChronoUnit;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Revokes tokens of users whose account changed after the token was issued
+ * (disabled, role changed, password changed), i.e. tokens carrying an older token version.
+ * Same scheme as the servlet UserRevocations: the users table is polled over R2DBC for
+ * rows updated since the last poll.
+ */
+@Slf4j
+@Component
+public class ReactiveUserRevocations {
+
+    private final DatabaseClient databaseClient;
+    private final long tokenLifetimeMs;
+
+    @Value("${app.jwt.revocation.poll-seconds:5}")
+    private long pollSeconds;
+
+    // Look back over the previous poll, so rows committed late with an earlier updated_at are still seen
+    @Value("${app.jwt.revocation.overlap-seconds:10}")
+    private long overlapSeconds;
+
+    // user id -> current token version and when the account last changed
+    private final Map<Long, Version> versions = new ConcurrentHashMap<>();
+    private volatile LocalDateTime lastPoll;
+    private volatile Disposable polling;
+
+    public ReactiveUserRevocations(DatabaseClient databaseClient,
+                                   @Value("${app.jwt.expiration:900000}") long tokenLifetimeMs) {
+        this.databaseClient = databaseClient;
+        this.tokenLifetimeMs = tokenLifetimeMs;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        // Every change within one token lifetime could affect a token still in use
+        lastPoll = LocalDateTime.now().minus(tokenLifetimeMs, ChronoUnit.MILLIS);
+        poll().block();
+        polling = Flux.interval(Duration.ofSeconds(pollSeconds))
+            .onBackpressureDrop()
+            .concatMap(tick -> poll())
+            .subscribe();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        if (polling != null) {
+            polling.dispose();
+        }
+    }
+
+    private record Version(long tokenVersion, Instant changedAt) {
+    }
+
+    /**
+     * Whether the account changed after this token was issued
+     */
+    public boolean isRevoked(JwtPrincipal principal) {
+        Version current = versions.get(principal.id());
+        return current != null && principal.tokenVersion() < current.tokenVersion();
+    }
+
+    private Mono<Void> poll() {
+        LocalDateTime now = LocalDateTime.now();
+        return databaseClient.sql("SELECT id, token_version, updated_at FROM users WHERE updated_at > :since")
+            .bind("since", lastPoll.minusSeconds(overlapSeconds))
+            .map(row -> {
+                Version version = new Version(row.get("token_version", Long.class),
+                    row.get("updated_at", LocalDateTime.class).atZone(ZoneId.systemDefault()).toInstant());
+                versions.merge(row.get("id", Long.class), version, (a, b) -> a.tokenVersion() >= b.tokenVersion() ? a : b);
+                return version;
+            })
+            .all()
+            .then(Mono.fromRunnable(() -> {
+                lastPoll = now;
+                // Tokens with an older version were issued before the change and have expired by now
+                Instant expired = Instant.now().minusMillis(tokenLifetimeMs);
+                versions.values().removeIf(version -> version.changedAt().isBefore(expired));
+            }))
+            .onErrorResume(e -> {
+                log.warn("Could not poll user changes for token revocation", e);
+                return Mono.empty();
+            })
+            .then();
+    }
+}
@@ -0,0 +1,152 @@
+package com.dev.crm.reactive.service;
+
+import com.dev.crm.dto.CustomerCreateDTO;
+import com.dev.crm.dto.CustomerDTO;
+import com.dev.crm.dto.CustomerPageDTO;
+import com.dev.crm.dto.CustomerSummaryDTO;
+import com.dev.crm.dto.CustomerUpdateDTO;
+import com.dev.crm.entity.Customer;
+import com.dev.crm.event.CustomerChangedEvent;
+import com.dev.crm.exception.ConflictException;
+import com.dev.crm.exception.ResourceNotFoundException;
+import com.dev.crm.mapper.CustomerMapper;
+import com.dev.crm.pagination.CustomerCursor;
+import com.dev.crm.pagination.CustomerPages;
+import com.dev.crm.reactive.changes.ReactiveCustomerChangeOutbox;
+import com.dev.crm.reactive.repository.ReactiveCustomerRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDateTime;
+import java.util.function.BiConsumer;
+
+/**
+ * Customer Service on R2DBC
+ * Same rules as the servlet CustomerService, expressed as Mono/Flux pipelines:
+ * timestamps are stamped here since there are no JPA lifecycle callbacks, the email
+ * constraint and the version column decide conflicts. Every write also records its
+ * outbox row in the same transaction.
+ */
+@Service
+@RequiredArgsConstructor
+public class ReactiveCustomerService {
+
+    private final ReactiveCustomerRepository customerRepository;
+    private final CustomerMapper customerMapper;
+    private final ReactiveCustomerChangeOutbox changeOutbox;
+
+    @Value("${app.customers.page.default-size:50}")
+    private int defaultPageSize;
+
+    @Value("${app.customers.page.max-size:500}")
+    private int maxPageSize;
+
+    /**
+     * Get one keyset page of customers
+     */
+    public Mono<CustomerPageDTO<CustomerSummaryDTO>> getCustomerPage(String cursor, Integer size, String sort, String direction) {
+        return Mono.defer(() -> {
+            int pageSize = CustomerPages.pageSize(size, defaultPageSize, maxPageSize);
+            CustomerCursor position = CustomerPages.position(cursor, sort, direction);
+            return customerRepository.findKeysetPage(position, pageSize + 1)
+                .collectList()
+                .map(rows -> CustomerPages.toPage(position, rows, pageSize));
+        });
+    }
+
+    /**
+     * All customers, in id order, at the pace the client reads them
+     */
+    public Flux<CustomerDTO> exportCustomers() {
+        return customerRepository.streamAll().map(customerMapper::toDTO);
+    }
+
+    /**
+     * Get customer by ID
+     */
+    public Mono<CustomerDTO> getCustomerById(Long id) {
+        return findCustomer(id).map(customerMapper::toDTO);
+    }
+
+    /**
+     * Create new customer
+     * Demonstrates: CreateDTO to Entity mapping
+     */
+    @Transactional
+    public Mono<CustomerDTO> createCustomer(CustomerCreateDTO createDTO) {
+        return Mono.fromSupplier(() -> {
+                Customer customer = customerMapper.toEntity(createDTO);
+                LocalDateTime now = LocalDateTime.now();
+                customer.setCreatedAt(now);
+                customer.setUpdatedAt(now);
+                return customer;
+            })
+            .flatMap(customerRepository::insert)
+            .onErrorMap(DataIntegrityViolationException.class,
+                e -> new ConflictException("Customer already exists with email: " + createDTO.getEmail(), e))
+            .map(customerMapper::toDTO)
+            .flatMap(customer -> changeOutbox.record(CustomerChangedEvent.created(customer)).thenReturn(customer));
+    }
+
+    /**
+     * Update customer
+     * Demonstrates: UpdateDTO to Entity mapping with @MappingTarget
+     */
+    @Transactional
+    public Mono<CustomerDTO> updateCustomer(Long id, CustomerUpdateDTO updateDTO) {
+        return update(id, updateDTO, customerMapper::updateEntityFromDTO);
+    }
+
+    /**
+     * Partial update customer
+     * Demonstrates: Partial update using NullValuePropertyMappingStrategy.IGNORE
+     */
+    @Transactional
+    public Mono<CustomerDTO> partialUpdateCustomer(Long id, CustomerUpdateDTO updateDTO) {
+        return update(id, updateDTO, customerMapper::partialUpdate);
+    }
+
+    private Mono<CustomerDTO> update(Long id, CustomerUpdateDTO updateDTO, BiConsumer<CustomerUpdateDTO, Customer> mapping) {
+        return findCustomer(id)
+            .flatMap(customer -> {
+                CustomerDTO previous = customerMapper.toDTO(customer);
+                mapping.accept(updateDTO, customer);
+                customer.setUpdatedAt(LocalDateTime.now());
+                return customerRepository.update(customer)
+                    .switchIfEmpty(Mono.error(() ->
+                        new ConflictException("Customer " + id + " was modified concurrently")))
+                    .onErrorMap(DataIntegrityViolationException.class,
+                        e -> new ConflictException("Customer already exists with email: " + updateDTO.getEmail(), e))
+                    .map(customerMapper::toDTO)
+                    .flatMap(updated -> changeOutbox.record(CustomerChangedEvent.updated(previous, updated))
+                        .thenReturn(updated));
+            });
+    }
+
+    /**
+     * Delete customer
+     * A single DELETE; the affected row count tells whether the customer existed.
+     * The outbox row carries only the id, which is all the feed and sync send for deletions
+     */
+    @Transactional
+    public Mono<Void> deleteCustomer(Long id) {
+        return customerRepository.deleteById(id)
+            .flatMap(count -> count == 0
+                ? Mono.error(notFound(id))
+                : changeOutbox.record(new CustomerChangedEvent(CustomerChangedEvent.Type.DELETED, id, null, null)))
+            .then();
+    }
+
+    private Mono<Customer> findCustomer(Long id) {
+        return customerRepository.findById(id).switchIfEmpty(Mono.error(() -> notFound(id)));
+    }
+
+    private static ResourceNotFoundException notFound(Long id) {
+        return new ResourceNotFoundException("Customer not found with id: " + id);
+    }
+}
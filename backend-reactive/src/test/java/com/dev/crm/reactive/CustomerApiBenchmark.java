@@ -0,0 +1,109 @@
+package com.dev.crm.reactive;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Load comparison of the servlet and reactive customer APIs against the same database
+ * Not a unit test: start both applications, then run
+ * <pre>
+ *   java ... CustomerApiBenchmark &lt;jwt&gt; [concurrency=500] [seconds=30] [path=/api/customers?size=50]
+ * </pre>
+ * Each target gets the same number of concurrent clients (virtual threads) issuing GETs
+ * back to back; reports throughput, error count and latency percentiles.
+ */
+public class CustomerApiBenchmark {
+
+    private static final String[] TARGETS = {"http://localhost:8080", "http://localhost:8081"};
+
+    public static void main(String[] args) throws Exception {
+        if (args.length < 1) {
+            System.err.println("Usage: CustomerApiBenchmark <jwt> [concurrency] [seconds] [path]");
+            System.exit(1);
+        }
+        String token = args[0];
+        int concurrency = args.length > 1 ? Integer.parseInt(args[1]) : 500;
+        int seconds = args.length > 2 ? Integer.parseInt(args[2]) : 30;
+        String path = args.length > 3 ? args[3] : "/api/customers?size=50";
+
+        for (String target : TARGETS) {
+            // Short warm-up so JIT and connection pools are settled on both sides
+            run(target + path, token, concurrency, Math.max(seconds / 5, 1));
+            Result result = run(target + path, token, concurrency, seconds);
+            System.out.printf("%s  clients=%d  %.0f req/s  errors=%d  p50=%.1f ms  p99=%.1f ms  max=%.1f ms%n",
+                target, concurrency, result.throughput(), result.errors(),
+                result.percentile(0.50), result.percentile(0.99), result.percentile(1.0));
+        }
+    }
+
+    private record Result(long[] latenciesNanos, long errors, int seconds) {
+
+        double throughput() {
+            return (double) latenciesNanos.length / seconds;
+        }
+
+        double percentile(double p) {
+            if (latenciesNanos.length == 0) {
+                return 0;
+            }
+            int index = (int) Math.ceil(p * latenciesNanos.length) - 1;
+            return latenciesNanos[Math.max(index, 0)] / 1_000_000.0;
+        }
+    }
+
+    private static Result run(String url, String token, int concurrency, int seconds) throws InterruptedException {
+        HttpClient client = HttpClient.newBuilder()
+            .connectTimeout(Duration.ofSeconds(5))
+            .executor(Executors.newVirtualThreadPerTaskExecutor())
+            .build();
+        HttpRequest request = HttpRequest.newBuilder(URI.create(url))
+            .header("Authorization", "Bearer " + token)
+            .timeout(Duration.ofSeconds(30))
+            .GET()
+            .build();
+
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(seconds);
+        AtomicLong errors = new AtomicLong();
+        Queue<long[]> perClient = new ConcurrentLinkedQueue<>();
+
+        try (ExecutorService clients = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < concurrency; i++) {
+                clients.submit(() -> {
+                    long[] latencies = new long[1024];
+                    int count = 0;
+                    while (System.nanoTime() < deadline) {
+                        long start = System.nanoTime();
+                        try {
+                            HttpResponse<Void> response = client.send(request, HttpResponse.BodyHandlers.discarding());
+                            if (response.statusCode() != 200) {
+                                errors.incrementAndGet();
+                                continue;
+                            }
+                        } catch (Exception e) {
+                            errors.incrementAndGet();
+                            continue;
+                        }
+                        if (count == latencies.length) {
+                            latencies = Arrays.copyOf(latencies, count * 2);
+                        }
+                        latencies[count++] = System.nanoTime() - start;
+                    }
+                    perClient.add(Arrays.copyOf(latencies, count));
+                });
+            }
+        }
+
+        long[] all = perClient.stream().flatMapToLong(Arrays::stream).sorted().toArray();
+        return new Result(all, errors.get(), seconds);
+    }
+}
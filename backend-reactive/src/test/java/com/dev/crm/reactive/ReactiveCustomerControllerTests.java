@@ -0,0 +1,219 @@
+package com.dev.crm.reactive;
+
+import com.dev.crm.dto.CustomerCreateDTO;
+import com.dev.crm.dto.CustomerDTO;
+import com.dev.crm.dto.CustomerPageDTO;
+import com.dev.crm.dto.CustomerSummaryDTO;
+import com.dev.crm.dto.CustomerUpdateDTO;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.ApplicationContext;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.test.web.reactive.server.WebTestClient;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Date;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+class ReactiveCustomerControllerTests {
+
+    @Autowired
+    private ApplicationContext context;
+
+    @Autowired
+    private DatabaseClient databaseClient;
+
+    @Value("${app.jwt.secret}")
+    private String jwtSecret;
+
+    private WebTestClient client;
+
+    @BeforeEach
+    void setUp() {
+        client = WebTestClient.bindToApplicationContext(context)
+            .configureClient()
+            .defaultHeader(HttpHeaders.AUTHORIZATION, "Bearer " + token(1L, UUID.randomUUID().toString(), new Date()))
+            .build();
+    }
+
+    @Test
+    void rejectsRequestsWithoutToken() {
+        WebTestClient.bindToApplicationContext(context).build()
+            .get().uri("/api/customers")
+            .exchange()
+            .expectStatus().isUnauthorized();
+    }
+
+    @Test
+    void rejectsRevokedToken() {
+        // revoked-token is seeded in data.sql and loaded by the startup poll
+        WebTestClient.bindToApplicationContext(context).build()
+            .get().uri("/api/customers")
+            .header(HttpHeaders.AUTHORIZATION, "Bearer " + token(1L, "revoked-token", new Date()))
+            .exchange()
+            .expectStatus().isUnauthorized();
+    }
+
+    @Test
+    void rejectsTokenIssuedBeforeAccountChange() {
+        // User 2 is seeded in data.sql at token version 1; the token carries version 0,
+        // and is refused however close its iat is to the change
+        WebTestClient.bindToApplicationContext(context).build()
+            .get().uri("/api/customers")
+            .header(HttpHeaders.AUTHORIZATION, "Bearer " + token(2L, UUID.randomUUID().toString(), new Date()))
+            .exchange()
+            .expectStatus().isUnauthorized();
+    }
+
+    @Test
+    void createsReadsUpdatesAndDeletesCustomer() {
+        CustomerDTO created = create("Ada", "Lovelace");
+        assertThat(created.getId()).isNotNull();
+        assertThat(created.getCreatedAt()).isNotNull();
+
+        client.get().uri("/api/customers/{id}", created.getId())
+            .exchange()
+            .expectStatus().isOk()
+            .expectBody(CustomerDTO.class)
+            .value(customer -> assertThat(customer.getEmail()).isEqualTo(created.getEmail()));
+
+        CustomerUpdateDTO patch = new CustomerUpdateDTO(null, null, null, null, "Analytical Engines", null);
+        client.patch().uri("/api/customers/{id}", created.getId())
+            .bodyValue(patch)
+            .exchange()
+            .expectStatus().isOk()
+            .expectBody(CustomerDTO.class)
+            .value(customer -> {
+                assertThat(customer.getCompanyName()).isEqualTo("Analytical Engines");
+                assertThat(customer.getLastName()).isEqualTo("Lovelace");
+            });
+
+        client.delete().uri("/api/customers/{id}", created.getId())
+            .exchange()
+            .expectStatus().isNoContent();
+        assertThat(outboxTypes(created.getId())).containsExactly("CREATED", "UPDATED", "DELETED");
+        client.get().uri("/api/customers/{id}", created.getId())
+            .exchange()
+            .expectStatus().isNotFound();
+        client.delete().uri("/api/customers/{id}", created.getId())
+            .exchange()
+            .expectStatus().isNotFound();
+        assertThat(outboxTypes(created.getId())).hasSize(3);
+    }
+
+    @Test
+    void rejectsDuplicateEmail() {
+        CustomerDTO created = create("Grace", "Hopper");
+        CustomerCreateDTO duplicate = new CustomerCreateDTO("Other", "Person", created.getEmail(), null, null, null);
+        client.post().uri("/api/customers")
+            .bodyValue(duplicate)
+            .exchange()
+            .expectStatus().isEqualTo(409);
+        assertThat(outboxTypes(created.getId())).containsExactly("CREATED");
+    }
+
+    @Test
+    void outboxRowCarriesTheCustomer() {
+        CustomerDTO created = create("Edsger", "Dijkstra");
+
+        String payload = databaseClient.sql("SELECT CAST(payload AS VARCHAR2(4000)) AS payload FROM customer_changes WHERE customer_id = :id")
+            .bind("id", created.getId())
+            .map(row -> row.get("payload", String.class))
+            .one()
+            .block();
+
+        assertThat(payload).contains(created.getEmail()).contains("Dijkstra");
+    }
+
+    @Test
+    void pagesThroughCustomersWithCursor() {
+        for (int i = 0; i < 5; i++) {
+            create("Page", "Walker" + i);
+        }
+
+        CustomerPageDTO<CustomerSummaryDTO> first = page("/api/customers?size=2");
+        assertThat(first.getContent()).hasSize(2);
+        assertThat(first.getNext()).isNotNull();
+        assertThat(first.getPrev()).isNull();
+
+        CustomerPageDTO<CustomerSummaryDTO> second = page("/api/customers?size=2&cursor=" + first.getNext());
+        assertThat(second.getContent()).hasSize(2);
+        assertThat(second.getContent().get(0).getId()).isGreaterThan(first.getContent().get(1).getId());
+
+        CustomerPageDTO<CustomerSummaryDTO> back = page("/api/customers?size=2&cursor=" + second.getPrev());
+        assertThat(back.getContent()).extracting("id")
+            .containsExactlyElementsOf(first.getContent().stream().map(c -> (Object) c.getId()).toList());
+    }
+
+    @Test
+    void exportsCustomersAsNdjson() {
+        CustomerDTO created = create("Stream", "Reader");
+
+        List<CustomerDTO> exported = client.get().uri("/api/customers/export")
+            .accept(MediaType.APPLICATION_NDJSON)
+            .exchange()
+            .expectStatus().isOk()
+            .returnResult(CustomerDTO.class)
+            .getResponseBody()
+            .collectList()
+            .block();
+
+        assertThat(exported).extracting(CustomerDTO::getId).contains(created.getId());
+    }
+
+    private String token(Long userId, String jti, Date issuedAt) {
+        return Jwts.builder()
+            .subject("tester")
+            .id(jti)
+            .claim("uid", userId)
+            .claim("role", "ROLE_USER")
+            .claim("enabled", true)
+            .claim("tv", 0L)
+            .issuedAt(issuedAt)
+            .expiration(new Date(System.currentTimeMillis() + 60_000))
+            .signWith(Keys.hmacShaKeyFor(jwtSecret.getBytes(StandardCharsets.UTF_8)))
+            .compact();
+    }
+
+    private CustomerDTO create(String firstName, String lastName) {
+        String email = UUID.randomUUID() + "@example.com";
+        return client.post().uri("/api/customers")
+            .bodyValue(new CustomerCreateDTO(firstName, lastName, email, null, null, null))
+            .exchange()
+            .expectStatus().isCreated()
+            .expectBody(CustomerDTO.class)
+            .returnResult()
+            .getResponseBody();
+    }
+
+    private List<String> outboxTypes(Long customerId) {
+        return databaseClient.sql("SELECT change_type FROM customer_changes WHERE customer_id = :id ORDER BY id")
+            .bind("id", customerId)
+            .map(row -> row.get("change_type", String.class))
+            .all()
+            .collectList()
+            .block();
+    }
+
+    private CustomerPageDTO<CustomerSummaryDTO> page(String uri) {
+        return client.get().uri(uri)
+            .exchange()
+            .expectStatus().isOk()
+            .expectBody(new ParameterizedTypeReference<CustomerPageDTO<CustomerSummaryDTO>>() {
+            })
+            .returnResult()
+            .getResponseBody();
+    }
+}
@@ -0,0 +1,8 @@
+-- Revocations in place before startup, so the first poll picks them up
+MERGE INTO revoked_tokens KEY (jti)
+    VALUES ('revoked-token', DATEADD('HOUR', 1, CURRENT_TIMESTAMP), CURRENT_TIMESTAMP);
+
+-- Account changed (e.g. disabled) after the version-0 tokens the tests issue for it
+MERGE INTO users KEY (id)
+    VALUES (2, 'disabled', 'disabled@example.com', 'x', NULL, NULL, 'ROLE_USER', 0,
+            CURRENT_TIMESTAMP, CURRENT_TIMESTAMP, 1);
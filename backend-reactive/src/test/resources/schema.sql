@@ -0,0 +1,50 @@
+-- In-memory stand-in for the Oracle customers table (H2 in Oracle mode)
+CREATE SEQUENCE IF NOT EXISTS customers_seq START WITH 1 INCREMENT BY 50;
+
+CREATE TABLE IF NOT EXISTS customers (
+    id           NUMBER(19)    PRIMARY KEY,
+    first_name   VARCHAR2(255) NOT NULL,
+    last_name    VARCHAR2(255) NOT NULL,
+    email        VARCHAR2(255) NOT NULL UNIQUE,
+    phone_number VARCHAR2(255),
+    company_name VARCHAR2(255),
+    notes        VARCHAR2(500),
+    created_at   TIMESTAMP     NOT NULL,
+    updated_at   TIMESTAMP,
+    version      NUMBER(19)    NOT NULL
+);
+
+CREATE INDEX IF NOT EXISTS idx_customers_created_at_id ON customers (created_at, id);
+CREATE INDEX IF NOT EXISTS idx_customers_last_name_id ON customers (last_name, id);
+
+-- Polled for token revocation; written by the servlet backend
+CREATE TABLE IF NOT EXISTS revoked_tokens (
+    jti        VARCHAR2(36) PRIMARY KEY,
+    expires_at TIMESTAMP    NOT NULL,
+    revoked_at TIMESTAMP    NOT NULL
+);
+
+CREATE TABLE IF NOT EXISTS users (
+    id            NUMBER(19)    PRIMARY KEY,
+    username      VARCHAR2(255) NOT NULL UNIQUE,
+    email         VARCHAR2(255) NOT NULL UNIQUE,
+    password      VARCHAR2(255) NOT NULL,
+    first_name    VARCHAR2(255),
+    last_name     VARCHAR2(255),
+    role          VARCHAR2(255) NOT NULL,
+    enabled       NUMBER(1)     NOT NULL,
+    created_at    TIMESTAMP     NOT NULL,
+    updated_at    TIMESTAMP,
+    token_version NUMBER(19)    NOT NULL
+);
+
+-- Change outbox, tailed by the servlet backend's feed and sync
+CREATE SEQUENCE IF NOT EXISTS customer_changes_seq START WITH 1 INCREMENT BY 50;
+
+CREATE TABLE IF NOT EXISTS customer_changes (
+    id          NUMBER(19)   PRIMARY KEY,
+    customer_id NUMBER(19)   NOT NULL,
+    change_type VARCHAR2(10) NOT NULL,
+    payload     CLOB,
+    changed_at  TIMESTAMP    NOT NULL
+);
@@ -0,0 +1,78 @@
+package com.dev.crm.bench;
+
+import tools.jackson.databind.JsonNode;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.io.File;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Compares a JMH JSON result file against a stored baseline: throughput and
+ * allocated bytes per operation for every benchmark and parameter combination.
+ * Usage: BaselineComparison &lt;baseline.json&gt; &lt;result.json&gt;
+ */
+public final class BaselineComparison {
+
+    private static final String ALLOCATION = "gc.alloc.rate.norm";
+
+    private record Score(double throughput, double bytesPerOp) {
+    }
+
+    private BaselineComparison() {
+    }
+
+    public static void main(String[] args) {
+        if (args.length != 2) {
+            System.err.println("Usage: BaselineComparison <baseline.json> <result.json>");
+            System.exit(2);
+        }
+        File baselineFile = new File(args[0]);
+        if (!baselineFile.isFile()) {
+            System.out.println("No baseline at " + baselineFile + "; copy " + args[1] + " there to record one");
+            return;
+        }
+        Map<String, Score> baseline = read(baselineFile);
+        Map<String, Score> current = read(new File(args[1]));
+
+        System.out.printf("%-70s %14s %14s %8s %12s %12s%n",
+            "Benchmark", "Baseline", "Current", "Change", "B/op base", "B/op now");
+        current.forEach((name, score) -> {
+            Score before = baseline.get(name);
+            if (before == null) {
+                System.out.printf("%-70s %14s %14.3f %8s %12s %12.1f%n",
+                    name, "-", score.throughput(), "new", "-", score.bytesPerOp());
+                return;
+            }
+            double change = (score.throughput() - before.throughput()) / before.throughput() * 100;
+            System.out.printf("%-70s %14.3f %14.3f %+7.1f%% %12.1f %12.1f%n",
+                name, before.throughput(), score.throughput(), change, before.bytesPerOp(), score.bytesPerOp());
+        });
+    }
+
+    private static Map<String, Score> read(File file) {
+        Map<String, Score> scores = new LinkedHashMap<>();
+        for (JsonNode run : JsonMapper.builder().build().readTree(file)) {
+            StringBuilder name = new StringBuilder(run.path("benchmark").asString());
+            JsonNode params = run.path("params");
+            for (Iterator<String> keys = params.propertyNames().iterator(); keys.hasNext(); ) {
+                String key = keys.next();
+                name.append(' ').append(key).append('=').append(params.path(key).asString());
+            }
+            JsonNode primary = run.path("primaryMetric");
+            scores.put(name.toString(), new Score(
+                primary.path("score").asDouble(),
+                allocation(run.path("secondaryMetrics"))));
+        }
+        return scores;
+    }
+
+    private static double allocation(JsonNode secondaryMetrics) {
+        // Older JMH versions prefix profiler metrics with a middle dot
+        JsonNode metric = secondaryMetrics.has(ALLOCATION)
+            ? secondaryMetrics.path(ALLOCATION)
+            : secondaryMetrics.path("\u00b7" + ALLOCATION);
+        return metric.path("score").asDouble(Double.NaN);
+    }
+}
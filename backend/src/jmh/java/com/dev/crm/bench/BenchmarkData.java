@@ -0,0 +1,54 @@
+package com.dev.crm.bench;
+
+import com.dev.crm.entity.Customer;
+import com.dev.crm.entity.User;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Fixed, realistic-looking fixtures shared by the benchmarks
+ */
+final class BenchmarkData {
+
+    static final String JWT_SECRET = "MySecretKeyForJWTTokenGenerationThatIsAtLeast256BitsLongForHS256Algorithm";
+    static final long JWT_EXPIRATION_MS = 900_000;
+
+    private BenchmarkData() {
+    }
+
+    static User user() {
+        User user = new User();
+        user.setId(42L);
+        user.setUsername("jane.doe");
+        user.setEmail("jane.doe@example.com");
+        user.setPassword("{noop}unused");
+        user.setFirstName("Jane");
+        user.setLastName("Doe");
+        return user;
+    }
+
+    static Customer customer(long id) {
+        Customer customer = new Customer();
+        customer.setId(id);
+        customer.setFirstName("First" + id);
+        customer.setLastName("Last" + id);
+        customer.setEmail("customer" + id + "@example.com");
+        customer.setPhoneNumber("+1 555 " + (1_000_000 + id));
+        customer.setCompanyName("Company " + (id % 500));
+        customer.setNotes("Met at the spring trade fair; interested in the annual plan. Follow up next quarter.");
+        customer.setCreatedAt(LocalDateTime.of(2024, 1, 1, 9, 0).plusMinutes(id));
+        customer.setUpdatedAt(LocalDateTime.of(2024, 6, 1, 9, 0).plusMinutes(id));
+        customer.setVersion(0L);
+        return customer;
+    }
+
+    static List<Customer> customers(int size) {
+        List<Customer> customers = new ArrayList<>(size);
+        for (int i = 1; i <= size; i++) {
+            customers.add(customer(i));
+        }
+        return customers;
+    }
+}
@@ -0,0 +1,39 @@
+package com.dev.crm.bench;
+
+import com.dev.crm.dto.CustomerDTO;
+import com.dev.crm.mapper.CustomerMapperImpl;
+import org.openjdk.jmh.annotations.*;
+import tools.jackson.databind.ObjectWriter;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Jackson serialization of customer pages, as written by the list endpoints
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class CustomerJsonBenchmark {
+
+    @Param({"1", "100", "10000"})
+    private int size;
+
+    private ObjectWriter writer;
+    private List<CustomerDTO> customers;
+
+    @Setup
+    public void setUp() {
+        writer = JsonMapper.builder().build().writer();
+        customers = new CustomerMapperImpl().toDTOList(BenchmarkData.customers(size));
+    }
+
+    @Benchmark
+    public byte[] writeList() {
+        return writer.writeValueAsBytes(customers);
+    }
+}
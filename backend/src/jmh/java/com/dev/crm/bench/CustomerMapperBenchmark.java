@@ -0,0 +1,45 @@
+package com.dev.crm.bench;
+
+import com.dev.crm.dto.CustomerDTO;
+import com.dev.crm.entity.Customer;
+import com.dev.crm.mapper.CustomerMapper;
+import com.dev.crm.mapper.CustomerMapperImpl;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * MapStruct entity to DTO conversion, single and per page size
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class CustomerMapperBenchmark {
+
+    @Param({"1", "100", "10000"})
+    private int size;
+
+    private final CustomerMapper customerMapper = new CustomerMapperImpl();
+    private Customer customer;
+    private List<Customer> customers;
+
+    @Setup
+    public void setUp() {
+        customer = BenchmarkData.customer(1);
+        customers = BenchmarkData.customers(size);
+    }
+
+    @Benchmark
+    public CustomerDTO toDTO() {
+        return customerMapper.toDTO(customer);
+    }
+
+    @Benchmark
+    public List<CustomerDTO> toDTOList() {
+        return customerMapper.toDTOList(customers);
+    }
+}
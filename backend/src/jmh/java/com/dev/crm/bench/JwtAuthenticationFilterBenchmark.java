@@ -0,0 +1,64 @@
+package com.dev.crm.bench;
+
+import com.dev.crm.entity.User;
+import com.dev.crm.security.JwtAuthenticationFilter;
+import com.dev.crm.security.JwtTokenProvider;
+import com.dev.crm.security.TokenRevocations;
+import com.dev.crm.security.UserRevocations;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.FilterChain;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Whole authentication filter for one bearer request: header parsing, token lookup,
+ * both revocation checks and the security context. The downstream chain is a no-op.
+ * The revocation pollers are never started, so no database is needed.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JwtAuthenticationFilterBenchmark {
+
+    private static final FilterChain NO_OP_CHAIN = (request, response) -> { };
+
+    private JwtAuthenticationFilter filter;
+    private MockHttpServletRequest request;
+    private MockHttpServletResponse response;
+
+    @Setup
+    public void setUp() {
+        JwtTokenProvider tokenProvider = new JwtTokenProvider(BenchmarkData.JWT_SECRET,
+            BenchmarkData.JWT_EXPIRATION_MS, 10_000, new SimpleMeterRegistry());
+        filter = new JwtAuthenticationFilter(tokenProvider,
+            new UserRevocations(null, tokenProvider),
+            new TokenRevocations(null, null, tokenProvider),
+            new SimpleMeterRegistry());
+
+        User user = BenchmarkData.user();
+        String token = tokenProvider.generateToken(
+            UsernamePasswordAuthenticationToken.authenticated(user, null, user.getAuthorities()));
+        request = new MockHttpServletRequest("GET", "/api/customers");
+        request.addHeader("Authorization", "Bearer " + token);
+        request.setRemoteAddr("10.0.0.1");
+        response = new MockHttpServletResponse();
+    }
+
+    @Benchmark
+    public Object doFilter() throws Exception {
+        try {
+            filter.doFilter(request, response, NO_OP_CHAIN);
+            return SecurityContextHolder.getContext().getAuthentication();
+        } finally {
+            SecurityContextHolder.clearContext();
+        }
+    }
+}
@@ -0,0 +1,55 @@
+package com.dev.crm.bench;
+
+import com.dev.crm.entity.User;
+import com.dev.crm.security.JwtPrincipal;
+import com.dev.crm.security.JwtTokenProvider;
+import io.jsonwebtoken.Claims;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Token issue and verification
+ * verify is the full parse and HMAC check every uncached bearer pays;
+ * principalCached is the steady state of a client repeating its bearer.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JwtTokenProviderBenchmark {
+
+    private JwtTokenProvider tokenProvider;
+    private Authentication authentication;
+    private String token;
+
+    @Setup
+    public void setUp() {
+        tokenProvider = new JwtTokenProvider(BenchmarkData.JWT_SECRET, BenchmarkData.JWT_EXPIRATION_MS, 10_000,
+            new SimpleMeterRegistry());
+        User user = BenchmarkData.user();
+        authentication = UsernamePasswordAuthenticationToken.authenticated(user, null, user.getAuthorities());
+        token = tokenProvider.generateToken(authentication);
+        tokenProvider.getPrincipalFromToken(token);
+    }
+
+    @Benchmark
+    public String generateToken() {
+        return tokenProvider.generateToken(authentication);
+    }
+
+    @Benchmark
+    public Claims verify() {
+        return tokenProvider.verify(token);
+    }
+
+    @Benchmark
+    public JwtPrincipal principalCached() {
+        return tokenProvider.getPrincipalFromToken(token);
+    }
+}
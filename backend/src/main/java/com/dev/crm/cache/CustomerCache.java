@@ -0,0 +1,121 @@
+package com.dev.crm.cache;
+
+import com.dev.crm.dto.CustomerDTO;
+import com.dev.crm.event.CustomerChangedEvent;
+import com.dev.crm.repository.CustomerRepository;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.LoadingCache;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Size-bounded cache in front of customer lookups by id and by email.
+ * Caffeine evicts with W-TinyLFU, so one-off scans do not push out hot customers.
+ * Entries expire after a TTL and can optionally be refreshed ahead of expiry.
+ * Kept consistent with writes through CustomerChangedEvent after commit.
+ * The email map is only filled from writes and reads; it never queries the database,
+ * since the unique constraint is the authority on email ownership.
+ */
+@Component
+public class CustomerCache {
+
+    private final LoadingCache<Long, CustomerDTO> byId;
+    // email -> id of the customer known to use it
+    private final Cache<String, Long> byEmail;
+
+    public CustomerCache(
+        CustomerRepository customerRepository,
+        @Value("${app.customers.cache.maximum-size:10000}") long maximumSize,
+        @Value("${app.customers.cache.ttl-seconds:600}") long ttlSeconds,
+        @Value("${app.customers.cache.refresh-after-seconds:0}") long refreshAfterSeconds
+    ) {
+        this.byId = builder(maximumSize, ttlSeconds, refreshAfterSeconds)
+            .build(id -> customerRepository.findDTOById(id).orElse(null));
+        this.byEmail = builder(maximumSize, ttlSeconds, 0).build();
+    }
+
+    private static Caffeine<Object, Object> builder(long maximumSize, long ttlSeconds, long refreshAfterSeconds) {
+        Caffeine<Object, Object> builder = Caffeine.newBuilder()
+            .maximumSize(maximumSize)
+            .expireAfterWrite(Duration.ofSeconds(ttlSeconds))
+            .recordStats();
+        if (refreshAfterSeconds > 0) {
+            // Refresh-ahead: reads after this age still return the cached value while it reloads in the background
+            builder.refreshAfterWrite(Duration.ofSeconds(refreshAfterSeconds));
+        }
+        return builder;
+    }
+
+    /**
+     * Customer by id, loaded from the database on a miss
+     */
+    public Optional<CustomerDTO> getById(Long id) {
+        CustomerDTO customer = byId.get(id);
+        if (customer != null) {
+            byEmail.put(customer.getEmail(), customer.getId());
+        }
+        return Optional.ofNullable(customer);
+    }
+
+    /**
+     * Customer by id only if already cached; never loads
+     */
+    public Optional<CustomerDTO> getIfPresent(Long id) {
+        return Optional.ofNullable(byId.getIfPresent(id));
+    }
+
+    /**
+     * Id of the customer known to use this email, or null when unknown; never loads
+     */
+    public Long getIdByEmail(String email) {
+        return byEmail.getIfPresent(email);
+    }
+
+    @TransactionalEventListener
+    public void onCustomerChanged(CustomerChangedEvent event) {
+        if (event.previous() != null) {
+            // The previous email of this customer may now be free
+            byEmail.invalidate(event.previous().getEmail());
+        } else if (event.type() != CustomerChangedEvent.Type.CREATED) {
+            // Writer could not tell the old email: fall back to finding it by id
+            byEmail.asMap().values().remove(event.id());
+        }
+        if (event.type() == CustomerChangedEvent.Type.DELETED) {
+            byId.invalidate(event.id());
+        } else {
+            byId.put(event.id(), event.customer());
+            byEmail.put(event.customer().getEmail(), event.id());
+        }
+    }
+
+    /**
+     * Hit/miss/eviction statistics per cache, for sizing
+     */
+    public Map<String, Object> stats() {
+        Map<String, Object> response = new LinkedHashMap<>();
+        response.put("byId", describe(byId.stats(), byId.estimatedSize()));
+        response.put("byEmail", describe(byEmail.stats(), byEmail.estimatedSize()));
+        return response;
+    }
+
+    static Map<String, Object> describe(CacheStats stats, long size) {
+        Map<String, Object> response = new LinkedHashMap<>();
+        response.put("size", size);
+        response.put("hitCount", stats.hitCount());
+        response.put("missCount", stats.missCount());
+        response.put("hitRate", stats.hitRate());
+        response.put("evictionCount", stats.evictionCount());
+        response.put("loadSuccessCount", stats.loadSuccessCount());
+        response.put("loadFailureCount", stats.loadFailureCount());
+        response.put("averageLoadPenaltyMs", stats.averageLoadPenalty() / 1_000_000.0);
+        return response;
+    }
+}
@@ -0,0 +1,148 @@
+package com.dev.crm.cache;
+
+import com.dev.crm.dto.CustomerDTO;
+import com.dev.crm.event.CustomerChangedEvent;
+import com.dev.crm.service.CustomerETags;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import tools.jackson.databind.ObjectWriter;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.util.Map;
+import java.util.Optional;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Customers already serialized to JSON (and optionally gzipped), ready to be copied to the response.
+ * Bounded by a byte budget with size-aware eviction; entries can live off-heap in direct buffers.
+ * Every entry carries the ETag of the version it was built from and is only served while
+ * CustomerCache still holds that version, so a write is never answered with stale bytes.
+ */
+@Component
+public class CustomerJsonCache {
+
+    // Rough per-entry bookkeeping (key, entry, buffers) on top of the payload bytes
+    private static final int ENTRY_OVERHEAD_BYTES = 128;
+
+    private final CustomerCache customerCache;
+    private final ObjectWriter writer;
+    private final Cache<Long, SerializedCustomer> byId;
+    private final boolean offHeap;
+    private final boolean gzip;
+    private final int gzipMinBytes;
+
+    /**
+     * One serialized customer
+     *
+     * @param etag ETag of the serialized version
+     * @param json JSON bytes; shared, so only ever read through duplicates
+     * @param gzip gzipped JSON bytes, null when not worth compressing
+     */
+    public record SerializedCustomer(String etag, ByteBuffer json, ByteBuffer gzip) {
+
+        /**
+         * Copy the bytes to the output stream without re-encoding
+         */
+        public void writeTo(OutputStream out, boolean gzipped) throws IOException {
+            ByteBuffer bytes = (gzipped ? gzip : json).duplicate();
+            if (bytes.hasArray()) {
+                out.write(bytes.array(), bytes.arrayOffset() + bytes.position(), bytes.remaining());
+            } else {
+                Channels.newChannel(out).write(bytes);
+            }
+        }
+
+        public int length(boolean gzipped) {
+            return (gzipped ? gzip : json).remaining();
+        }
+
+        int weight() {
+            return ENTRY_OVERHEAD_BYTES + json.capacity() + (gzip == null ? 0 : gzip.capacity());
+        }
+    }
+
+    public CustomerJsonCache(
+        CustomerCache customerCache,
+        JsonMapper jsonMapper,
+        @Value("${app.customers.json-cache.max-bytes:67108864}") long maxBytes,
+        @Value("${app.customers.json-cache.off-heap:false}") boolean offHeap,
+        @Value("${app.customers.json-cache.gzip:false}") boolean gzip,
+        @Value("${app.customers.json-cache.gzip-min-bytes:1024}") int gzipMinBytes
+    ) {
+        this.customerCache = customerCache;
+        this.writer = jsonMapper.writerFor(CustomerDTO.class);
+        this.offHeap = offHeap;
+        this.gzip = gzip;
+        this.gzipMinBytes = gzipMinBytes;
+        this.byId = Caffeine.newBuilder()
+            .maximumWeight(maxBytes)
+            .weigher((Long id, SerializedCustomer entry) -> entry.weight())
+            .recordStats()
+            .build();
+    }
+
+    /**
+     * Serialized customer by id; the DTO comes from CustomerCache, serialization only on a miss
+     */
+    public Optional<SerializedCustomer> get(Long id) {
+        return customerCache.getById(id).map(customer -> {
+            String etag = CustomerETags.of(customer);
+            SerializedCustomer cached = byId.getIfPresent(id);
+            if (cached != null && cached.etag().equals(etag)) {
+                return cached;
+            }
+            SerializedCustomer serialized = serialize(customer, etag);
+            byId.put(id, serialized);
+            return serialized;
+        });
+    }
+
+    @TransactionalEventListener
+    public void onCustomerChanged(CustomerChangedEvent event) {
+        // Stale entries are never served (the ETag check), this just frees their memory early
+        byId.invalidate(event.id());
+    }
+
+    public Map<String, Object> stats() {
+        Map<String, Object> response = CustomerCache.describe(byId.stats(), byId.estimatedSize());
+        response.put("weightBytes", byId.policy().eviction()
+            .map(eviction -> eviction.weightedSize().orElse(0L)).orElse(0L));
+        response.put("offHeap", offHeap);
+        response.put("gzip", gzip);
+        return response;
+    }
+
+    private SerializedCustomer serialize(CustomerDTO customer, String etag) {
+        byte[] json = writer.writeValueAsBytes(customer);
+        byte[] gzipped = gzip && json.length >= gzipMinBytes ? gzip(json) : null;
+        return new SerializedCustomer(etag, store(json), gzipped == null ? null : store(gzipped));
+    }
+
+    private ByteBuffer store(byte[] bytes) {
+        if (!offHeap) {
+            return ByteBuffer.wrap(bytes);
+        }
+        ByteBuffer buffer = ByteBuffer.allocateDirect(bytes.length);
+        buffer.put(bytes).flip();
+        return buffer;
+    }
+
+    private static byte[] gzip(byte[] bytes) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(bytes.length / 2);
+        try (GZIPOutputStream gzipOut = new GZIPOutputStream(out)) {
+            gzipOut.write(bytes);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return out.toByteArray();
+    }
+}
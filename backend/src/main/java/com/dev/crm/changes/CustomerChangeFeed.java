@@ -0,0 +1,294 @@
+package com.dev.crm.changes;
+
+import com.dev.crm.dto.CustomerChangeDTO;
+import com.dev.crm.entity.CustomerChange;
+import com.dev.crm.repository.CustomerChangeRepository;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Limit;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Fans customer changes out to Server-Sent Events subscribers.
+ * One poller tails the customer_changes outbox and serializes each change once; a small
+ * shared pool writes the frames to subscribers, which hold no thread while idle.
+ * Each poll reads new rows a page at a time above the highest id sent, and only ids and
+ * times for the settle window below it; with no subscribers it does not query at all.
+ * A subscriber that falls too far behind is disconnected and resumes from Last-Event-ID;
+ * the replay covers the settle window as well, so a change that committed late with a lower
+ * id than the client had seen is still delivered.
+ * Delivery is at least once; ids mostly increase but a late commit can arrive after a higher id.
+ */
+@Slf4j
+@Component
+public class CustomerChangeFeed {
+
+    private static final String RESET_EVENT = "reset";
+
+    private final CustomerChangeRepository customerChangeRepository;
+    private final JsonMapper jsonMapper;
+    private final Set<Subscriber> subscribers = ConcurrentHashMap.newKeySet();
+    private final ScheduledExecutorService poller;
+    private final ExecutorService senders;
+
+    @Value("${app.customers.changes.poll-interval-ms:500}")
+    private long pollIntervalMs;
+
+    // Outbox ids and change times are assigned just before commit, so a row can become visible
+    // after a higher id; every poll and every replay looks back this far
+    @Value("${app.customers.changes.settle-seconds:5}")
+    private long settleSeconds;
+
+    @Value("${app.customers.changes.poll-page-size:500}")
+    private int pollPageSize;
+
+    @Value("${app.customers.changes.replay-max:10000}")
+    private int replayMax;
+
+    @Value("${app.customers.changes.subscriber-buffer:1000}")
+    private int subscriberBuffer;
+
+    @Value("${app.customers.changes.heartbeat-seconds:15}")
+    private long heartbeatSeconds;
+
+    @Value("${app.customers.changes.emitter-timeout-ms:1800000}")
+    private long emitterTimeoutMs;
+
+    @Value("${app.customers.changes.retention-hours:24}")
+    private long retentionHours;
+
+    // Poller thread only. Outbox id -> change time of rows sent within the settle window
+    private final Map<Long, LocalDateTime> recentlySent = new HashMap<>();
+    // Highest outbox id broadcast so far; null while nobody is subscribed
+    private Long sentThrough;
+
+    private record Frame(long id, Set<ResponseBodyEmitter.DataWithMediaType> data) {
+    }
+
+    private final class Subscriber {
+        private final SseEmitter emitter;
+        private final Queue<Frame> queue = new ArrayBlockingQueue<>(subscriberBuffer);
+        private final AtomicBoolean draining = new AtomicBoolean();
+        // Replayed changes recent enough to be broadcast again by the poller's look-back
+        private final Set<Long> replayedRecently = ConcurrentHashMap.newKeySet();
+
+        private Subscriber(SseEmitter emitter) {
+            this.emitter = emitter;
+        }
+
+        void offer(Frame frame) {
+            if (!queue.offer(frame)) {
+                // Too slow to keep up: let it reconnect and catch up from the outbox
+                subscribers.remove(this);
+                emitter.complete();
+                return;
+            }
+            if (draining.compareAndSet(false, true)) {
+                senders.execute(this::drain);
+            }
+        }
+
+        private void drain() {
+            try {
+                Frame frame;
+                while ((frame = queue.poll()) != null) {
+                    if (!replayedRecently.remove(frame.id())) {
+                        emitter.send(frame.data());
+                    }
+                }
+            } catch (IOException | IllegalStateException e) {
+                // Client went away; the container completes the emitter
+                subscribers.remove(this);
+                queue.clear();
+            } finally {
+                draining.set(false);
+            }
+            if (!queue.isEmpty() && subscribers.contains(this) && draining.compareAndSet(false, true)) {
+                senders.execute(this::drain);
+            }
+        }
+    }
+
+    public CustomerChangeFeed(CustomerChangeRepository customerChangeRepository,
+                              JsonMapper jsonMapper,
+                              @Value("${app.customers.changes.send-threads:4}") int sendThreads) {
+        this.customerChangeRepository = customerChangeRepository;
+        this.jsonMapper = jsonMapper;
+        this.poller = Executors.newSingleThreadScheduledExecutor(runnable -> new Thread(runnable, "customer-change-poller"));
+        this.senders = Executors.newFixedThreadPool(sendThreads, runnable -> new Thread(runnable, "customer-change-sender"));
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        poller.scheduleWithFixedDelay(this::poll, 0, pollIntervalMs, TimeUnit.MILLISECONDS);
+        poller.scheduleWithFixedDelay(this::heartbeat, heartbeatSeconds, heartbeatSeconds, TimeUnit.SECONDS);
+        poller.scheduleWithFixedDelay(this::purge, 1, 60, TimeUnit.MINUTES);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        poller.shutdownNow();
+        senders.shutdownNow();
+        subscribers.forEach(subscriber -> subscriber.emitter.complete());
+    }
+
+    /**
+     * Subscribe to changes; with a Last-Event-ID, missed changes are replayed first.
+     * When more than replay-max changes were missed, or some were purged by retention, a "reset"
+     * event tells the client to reload instead.
+     */
+    public SseEmitter subscribe(Long lastEventId) {
+        SseEmitter emitter = new SseEmitter(emitterTimeoutMs);
+        Subscriber subscriber = new Subscriber(emitter);
+        emitter.onCompletion(() -> subscribers.remove(subscriber));
+        emitter.onTimeout(() -> subscribers.remove(subscriber));
+        emitter.onError(error -> subscribers.remove(subscriber));
+
+        // On the poller thread, so no poll runs between the replay query and registration
+        poller.execute(() -> {
+            try {
+                if (sentThrough == null) {
+                    startTracking();
+                }
+                if (lastEventId != null) {
+                    replay(subscriber, lastEventId);
+                }
+                subscribers.add(subscriber);
+            } catch (RuntimeException e) {
+                log.warn("Customer change replay failed", e);
+                emitter.completeWithError(e);
+            }
+        });
+        return emitter;
+    }
+
+    private void replay(Subscriber subscriber, long lastEventId) {
+        LocalDateTime since = LocalDateTime.now().minusSeconds(settleSeconds);
+        // Everything after the last seen id, plus the settle window: a row committed late may
+        // carry a lower id than changes the client already received
+        List<CustomerChange> missed = customerChangeRepository.findByIdGreaterThanOrChangedAtAfterOrderById(
+            lastEventId, since, Limit.of(replayMax + 1));
+        // Changes after the last seen id were purged, or too many to replay
+        if (lastEventId < customerChangeRepository.findPurgedThrough() || missed.size() > replayMax) {
+            subscriber.offer(new Frame(0, SseEmitter.event().name(RESET_EVENT).data("{}", MediaType.APPLICATION_JSON).build()));
+            return;
+        }
+        for (CustomerChange change : missed) {
+            subscriber.offer(frame(change));
+            if (change.getChangedAt().isAfter(since) && !recentlySent.containsKey(change.getId())) {
+                subscriber.replayedRecently.add(change.getId());
+            }
+        }
+    }
+
+    public int getSubscriberCount() {
+        return subscribers.size();
+    }
+
+    private void poll() {
+        try {
+            if (subscribers.isEmpty()) {
+                // Nobody to send to; the next subscriber starts tracking from the head again
+                sentThrough = null;
+                recentlySent.clear();
+                return;
+            }
+            if (sentThrough == null) {
+                startTracking();
+            }
+            LocalDateTime since = LocalDateTime.now().minusSeconds(settleSeconds);
+            recentlySent.values().removeIf(changedAt -> changedAt.isBefore(since));
+
+            // Rows that committed late below the highest id sent; ids first, payloads only for the unsent ones
+            List<Long> late = new ArrayList<>();
+            for (Object[] row : customerChangeRepository.findRecentIds(since)) {
+                Long id = (Long) row[0];
+                if (id <= sentThrough && !recentlySent.containsKey(id)) {
+                    late.add(id);
+                }
+            }
+            if (!late.isEmpty()) {
+                List<CustomerChange> changes = new ArrayList<>(customerChangeRepository.findAllById(late));
+                changes.sort(Comparator.comparing(CustomerChange::getId));
+                changes.forEach(this::broadcast);
+            }
+
+            // New rows, a page at a time
+            List<CustomerChange> page;
+            do {
+                page = customerChangeRepository.findByIdGreaterThanOrderById(sentThrough, Limit.of(pollPageSize));
+                for (CustomerChange change : page) {
+                    broadcast(change);
+                    sentThrough = change.getId();
+                }
+            } while (page.size() == pollPageSize && !subscribers.isEmpty());
+        } catch (RuntimeException e) {
+            log.warn("Customer change poll failed", e);
+        }
+    }
+
+    // Everything already in the outbox counts as sent; later rows, and late commits below the head, are broadcast
+    private void startTracking() {
+        sentThrough = customerChangeRepository.findMaxId();
+        recentlySent.clear();
+        for (Object[] row : customerChangeRepository.findRecentIds(LocalDateTime.now().minusSeconds(settleSeconds))) {
+            recentlySent.put((Long) row[0], (LocalDateTime) row[1]);
+        }
+    }
+
+    private void broadcast(CustomerChange change) {
+        recentlySent.put(change.getId(), change.getChangedAt());
+        Frame frame = frame(change);
+        subscribers.forEach(subscriber -> subscriber.offer(frame));
+    }
+
+    private void heartbeat() {
+        Frame ping = new Frame(0, SseEmitter.event().comment("ping").build());
+        subscribers.forEach(subscriber -> subscriber.offer(ping));
+    }
+
+    private void purge() {
+        try {
+            int deleted = customerChangeRepository.purgeOlderThan(LocalDateTime.now().minusHours(retentionHours));
+            log.debug("Purged {} customer changes", deleted);
+        } catch (RuntimeException e) {
+            log.warn("Customer change purge failed", e);
+        }
+    }
+
+    private Frame frame(CustomerChange change) {
+        CustomerChangeDTO dto = new CustomerChangeDTO(change.getId(), change.getType().name(),
+            change.getCustomerId(), change.getPayload(), change.getChangedAt());
+        // Serialized once, the same bytes go to every subscriber
+        String json = jsonMapper.writeValueAsString(dto);
+        return new Frame(change.getId(), SseEmitter.event()
+            .id(String.valueOf(change.getId()))
+            .name(change.getType().name().toLowerCase())
+            .data(json, MediaType.APPLICATION_JSON)
+            .build());
+    }
+}
@@ -0,0 +1,77 @@
+package com.dev.crm.changes;
+
+import com.dev.crm.entity.CustomerChange;
+import com.dev.crm.event.CustomerChangedEvent;
+import com.dev.crm.repository.CustomerChangeRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Records every CustomerChangedEvent in the customer_changes outbox table, inside the
+ * transaction that made the change: the row commits or rolls back with it.
+ * Changes are collected per transaction and inserted as one batch just before commit,
+ * stamped with the insert time: the feed's settle window only has to cover the commit
+ * itself, not the whole transaction.
+ */
+@Component
+@RequiredArgsConstructor
+public class CustomerChangeOutbox {
+
+    private final CustomerChangeRepository customerChangeRepository;
+    private final JsonMapper jsonMapper;
+
+    // Synchronous on purpose: runs in the publisher's transaction, unlike the after-commit listeners
+    @EventListener
+    public void onCustomerChanged(CustomerChangedEvent event) {
+        CustomerChange change = new CustomerChange(
+            null,
+            event.id(),
+            event.type(),
+            event.customer() == null ? null : jsonMapper.writeValueAsString(event.customer()),
+            null);
+
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            insert(List.of(change));
+            return;
+        }
+        pendingChanges().add(change);
+    }
+
+    @SuppressWarnings("unchecked")
+    private List<CustomerChange> pendingChanges() {
+        List<CustomerChange> pending = (List<CustomerChange>) TransactionSynchronizationManager.getResource(this);
+        if (pending == null) {
+            List<CustomerChange> changes = new ArrayList<>();
+            TransactionSynchronizationManager.bindResource(this, changes);
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void beforeCommit(boolean readOnly) {
+                    insert(changes);
+                }
+
+                @Override
+                public void afterCompletion(int status) {
+                    TransactionSynchronizationManager.unbindResourceIfPossible(CustomerChangeOutbox.this);
+                }
+            });
+            pending = changes;
+        }
+        return pending;
+    }
+
+    private void insert(List<CustomerChange> changes) {
+        LocalDateTime now = LocalDateTime.now();
+        for (CustomerChange change : changes) {
+            change.setChangedAt(now);
+        }
+        customerChangeRepository.insertAll(changes);
+    }
+}
@@ -22,8 +22,12 @@ public class CorsConfig {
             "Content-Type",
             "Accept",
             "Authorization",
-            "X-Requested-With"
+            "X-Requested-With",
+            "If-Match",
+            "If-None-Match",
+            "Last-Event-ID"
         ));
+        config.setExposedHeaders(List.of("ETag"));
         config.setAllowedMethods(Arrays.asList(
             "GET",
             "POST",
@@ -0,0 +1,41 @@
+package com.dev.crm.config;
+
+import com.dev.crm.datasource.BulkheadDataSource;
+import com.dev.crm.datasource.DatabaseBulkhead;
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+
+/**
+ * Puts the DatabaseBulkhead in front of the Hikari pool when app.db.bulkhead.enabled is set
+ */
+@Configuration
+public class DatabaseBulkheadConfig {
+
+    @Bean
+    public static BeanPostProcessor databaseBulkheadPostProcessor(ObjectProvider<DatabaseBulkhead> bulkhead) {
+        return new BulkheadPostProcessor(bulkhead);
+    }
+
+    /**
+     * Ordered so it wraps the pool before the unordered replica routing post-processor wraps the result
+     */
+    private record BulkheadPostProcessor(ObjectProvider<DatabaseBulkhead> bulkhead) implements BeanPostProcessor, Ordered {
+
+        @Override
+        public Object postProcessAfterInitialization(Object bean, String beanName) {
+            if (bean instanceof HikariDataSource dataSource && bulkhead.getObject().isEnabled()) {
+                return new BulkheadDataSource(dataSource, bulkhead.getObject());
+            }
+            return bean;
+        }
+
+        @Override
+        public int getOrder() {
+            return Ordered.HIGHEST_PRECEDENCE;
+        }
+    }
+}
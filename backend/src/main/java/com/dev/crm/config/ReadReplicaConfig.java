@@ -0,0 +1,95 @@
+package com.dev.crm.config;
+
+import com.dev.crm.datasource.BulkheadDataSource;
+import com.dev.crm.datasource.DatabaseBulkhead;
+import com.dev.crm.datasource.ReadWriteRoutingDataSource;
+import com.dev.crm.datasource.ReplicaDataSource;
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.metrics.micrometer.MicrometerMetricsTrackerFactory;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+
+import javax.sql.DataSource;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Routes read-only transactions to replica pools when app.db.replica.urls is set.
+ * Every replica gets its own Hikari pool configured from app.db.replica.hikari.*
+ * (and its own bulkhead, sized to that pool, when the bulkhead is enabled).
+ * Replica pools report hikaricp.* metrics like the primary, tagged with their pool name.
+ */
+@Configuration
+public class ReadReplicaConfig {
+
+    // Active Data Guard apply lag ("+DD HH:MI:SS") in seconds; 0 when the view has no row yet
+    private static final String DEFAULT_LAG_QUERY =
+        "SELECT NVL(MAX(EXTRACT(DAY FROM lag) * 86400 + EXTRACT(HOUR FROM lag) * 3600 " +
+        "+ EXTRACT(MINUTE FROM lag) * 60 + EXTRACT(SECOND FROM lag)), 0) " +
+        "FROM (SELECT TO_DSINTERVAL(value) AS lag FROM v$dataguard_stats WHERE name = 'apply lag')";
+
+    @Bean
+    public static BeanPostProcessor readReplicaPostProcessor(Environment environment,
+                                                             ObjectProvider<MeterRegistry> meterRegistry) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (!"dataSource".equals(beanName) || !(bean instanceof DataSource primary)) {
+                    return bean;
+                }
+                List<String> urls = Binder.get(environment)
+                    .bind("app.db.replica.urls", Bindable.listOf(String.class))
+                    .orElse(List.of());
+                if (urls.isEmpty()) {
+                    return bean;
+                }
+                return new ReadWriteRoutingDataSource(primary, replicas(environment, urls, primary, meterRegistry.getIfAvailable()));
+            }
+        };
+    }
+
+    private static ReplicaDataSource replicas(Environment environment, List<String> urls, DataSource primary,
+                                              MeterRegistry meterRegistry) {
+        Binder binder = Binder.get(environment);
+        HikariConfig template = binder.bindOrCreate("app.db.replica.hikari", Bindable.of(HikariConfig.class));
+        boolean bulkheadEnabled = environment.getProperty("app.db.bulkhead.enabled", Boolean.class, false);
+        long bulkheadTimeoutMs = environment.getProperty("app.db.bulkhead.timeout-ms", Long.class, 2000L);
+        MeterRegistry bulkheadRegistry = meterRegistry != null ? meterRegistry : new SimpleMeterRegistry();
+
+        List<ReplicaDataSource.ReplicaPool> pools = new ArrayList<>(urls.size());
+        for (int i = 0; i < urls.size(); i++) {
+            HikariConfig config = new HikariConfig();
+            template.copyStateTo(config);
+            config.setJdbcUrl(urls.get(i));
+            config.setPoolName("HikariPoolReplica" + (i + 1));
+            config.setReadOnly(true);
+            if (config.getUsername() == null) {
+                config.setUsername(environment.getProperty("spring.datasource.username"));
+                config.setPassword(environment.getProperty("spring.datasource.password"));
+            }
+            if (meterRegistry != null) {
+                config.setMetricsTrackerFactory(new MicrometerMetricsTrackerFactory(meterRegistry));
+            }
+            HikariDataSource pool = new HikariDataSource(config);
+            DataSource guarded = bulkheadEnabled
+                ? new BulkheadDataSource(pool, new DatabaseBulkhead(true, config.getMaximumPoolSize(), bulkheadTimeoutMs,
+                    config.getPoolName(), bulkheadRegistry))
+                : pool;
+            pools.add(new ReplicaDataSource.ReplicaPool(pool, guarded));
+        }
+        return new ReplicaDataSource(
+            pools,
+            primary,
+            environment.getProperty("app.db.replica.max-lag-seconds", Double.class, 0.0),
+            environment.getProperty("app.db.replica.lag-query", DEFAULT_LAG_QUERY),
+            environment.getProperty("app.db.replica.lag-check-interval-ms", Long.class, 5000L));
+    }
+}
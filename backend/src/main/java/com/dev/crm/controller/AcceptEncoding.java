@@ -0,0 +1,57 @@
+package com.dev.crm.controller;
+
+import java.util.Locale;
+
+/**
+ * Accept-Encoding negotiation (RFC 9110 section 12.5.3).
+ * A coding is acceptable when listed with a q-value above zero, or, when not listed
+ * at all, when "*" is; "gzip;q=0" therefore refuses gzip even alongside "*".
+ */
+final class AcceptEncoding {
+
+    private AcceptEncoding() {
+    }
+
+    /**
+     * Whether the client accepts gzip; headerValues may hold several Accept-Encoding headers, or be null
+     */
+    static boolean acceptsGzip(String[] headerValues) {
+        if (headerValues == null) {
+            return false;
+        }
+        Double gzip = null;
+        Double any = null;
+        for (String header : headerValues) {
+            for (String element : header.split(",")) {
+                String[] parts = element.split(";");
+                String coding = parts[0].trim().toLowerCase(Locale.ROOT);
+                double quality = quality(parts);
+                if (coding.equals("gzip") || coding.equals("x-gzip")) {
+                    gzip = gzip == null ? quality : Math.max(gzip, quality);
+                } else if (coding.equals("*")) {
+                    any = any == null ? quality : Math.max(any, quality);
+                }
+            }
+        }
+        if (gzip != null) {
+            return gzip > 0;
+        }
+        return any != null && any > 0;
+    }
+
+    // Missing q counts as 1, the default weight; an unparseable one as 0, since identity is always safe
+    private static double quality(String[] parts) {
+        for (int i = 1; i < parts.length; i++) {
+            String parameter = parts[i].trim();
+            if (parameter.length() > 2 && (parameter.charAt(0) == 'q' || parameter.charAt(0) == 'Q')
+                && parameter.charAt(1) == '=') {
+                try {
+                    return Double.parseDouble(parameter.substring(2).trim());
+                } catch (NumberFormatException e) {
+                    return 0.0;
+                }
+            }
+        }
+        return 1.0;
+    }
+}
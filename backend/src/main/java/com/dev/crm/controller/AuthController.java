@@ -2,17 +2,22 @@ package com.dev.crm.controller;
 
 import com.dev.crm.dto.AuthResponseDTO;
 import com.dev.crm.dto.LoginRequestDTO;
+import com.dev.crm.dto.RefreshTokenRequestDTO;
 import com.dev.crm.dto.RegisterRequestDTO;
+import com.dev.crm.security.JwtPrincipal;
 import com.dev.crm.service.AuthService;
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
 
 /**
  * Authentication Controller
- * Handles user registration and login with JWT tokens
+ * Handles user registration and login with short-lived JWT access tokens
+ * and rotating refresh tokens
  */
 @RestController
 @RequestMapping("/api/auth")
@@ -26,18 +31,42 @@ public class AuthController {
      * Returns JWT token upon successful registration
      */
     @PostMapping("/register")
-    public ResponseEntity<AuthResponseDTO> register(@Valid @RequestBody RegisterRequestDTO registerRequest) {
-        AuthResponseDTO response = authService.register(registerRequest);
+    public ResponseEntity<AuthResponseDTO> register(@Valid @RequestBody RegisterRequestDTO registerRequest,
+                                                    HttpServletRequest request) {
+        AuthResponseDTO response = authService.register(registerRequest, request.getRemoteAddr());
         return ResponseEntity.status(HttpStatus.CREATED).body(response);
     }
 
     /**
      * Login user
      * Returns JWT token upon successful authentication
+     * Attempts are rate limited per username and client address (429)
      */
     @PostMapping("/login")
-    public ResponseEntity<AuthResponseDTO> login(@Valid @RequestBody LoginRequestDTO loginRequest) {
-        AuthResponseDTO response = authService.login(loginRequest);
+    public ResponseEntity<AuthResponseDTO> login(@Valid @RequestBody LoginRequestDTO loginRequest,
+                                                 HttpServletRequest request) {
+        AuthResponseDTO response = authService.login(loginRequest, request.getRemoteAddr());
         return ResponseEntity.ok(response);
     }
+
+    /**
+     * Refresh tokens
+     * Trades a refresh token for a new access token and the next refresh token;
+     * each refresh token works once (401 when unknown, expired or reused)
+     */
+    @PostMapping("/refresh")
+    public ResponseEntity<AuthResponseDTO> refresh(@Valid @RequestBody RefreshTokenRequestDTO refreshRequest) {
+        return ResponseEntity.ok(authService.refresh(refreshRequest));
+    }
+
+    /**
+     * Logout
+     * Revokes the bearer access token and, when given, the login of the refresh token
+     */
+    @PostMapping("/logout")
+    public ResponseEntity<Void> logout(@AuthenticationPrincipal JwtPrincipal principal,
+                                       @RequestBody(required = false) RefreshTokenRequestDTO refreshRequest) {
+        authService.logout(principal, refreshRequest);
+        return ResponseEntity.noContent().build();
+    }
 }
@@ -1,16 +1,37 @@
 package com.dev.crm.controller;
 
+import com.dev.crm.cache.CustomerJsonCache;
+import com.dev.crm.changes.CustomerChangeFeed;
+import com.dev.crm.dto.CustomerBulkResultDTO;
 import com.dev.crm.dto.CustomerCreateDTO;
 import com.dev.crm.dto.CustomerDTO;
+import com.dev.crm.dto.CustomerPageDTO;
+import com.dev.crm.dto.CustomerStatsDTO;
+import com.dev.crm.dto.CustomerSummaryDTO;
+import com.dev.crm.dto.CustomerSyncDTO;
 import com.dev.crm.dto.CustomerUpdateDTO;
+import com.dev.crm.projection.CustomerField;
+import com.dev.crm.service.CustomerBulkService;
+import com.dev.crm.service.CustomerETags;
 import com.dev.crm.service.CustomerService;
+import com.dev.crm.service.CustomerSyncService;
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.IOException;
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 
 /**
  * Customer REST Controller
@@ -22,25 +43,135 @@ import java.util.List;
 public class CustomerController {
 
     private final CustomerService customerService;
+    private final CustomerBulkService customerBulkService;
+    private final CustomerChangeFeed customerChangeFeed;
+    private final CustomerSyncService customerSyncService;
 
     /**
-     * Get all customers
-     * MapStruct converts List<Customer> to List<CustomerDTO>
+     * Get customers, one keyset page at a time
+     * Pass the returned next/prev cursor to move between pages; sort and direction
+     * only apply to the first page since the cursor carries them afterwards.
+     * fields=id,lastName,... limits rows (and the SELECT) to those fields, plus id and the sort key.
+     * Conditional: a matching If-None-Match answers 304 before the page is queried
      */
     @GetMapping
-    public ResponseEntity<List<CustomerDTO>> getAllCustomers() {
-        List<CustomerDTO> customers = customerService.getAllCustomers();
+    public ResponseEntity<CustomerPageDTO<?>> getAllCustomers(
+        @RequestParam(required = false) String cursor,
+        @RequestParam(required = false) Integer size,
+        @RequestParam(required = false) String sort,
+        @RequestParam(required = false) String direction,
+        @RequestParam(required = false) String fields,
+        WebRequest request
+    ) {
+        Set<CustomerField> selected = CustomerField.parse(fields);
+        String etag = customerService.getCustomerPageETag(cursor, size, sort, direction, fields);
+        if (request.checkNotModified(etag)) {
+            return null;
+        }
+        CustomerPageDTO<?> page = selected == null
+            ? customerService.getCustomerPage(cursor, size, sort, direction)
+            : customerService.getCustomerPage(cursor, size, sort, direction, selected);
+        return ResponseEntity.ok().eTag(etag).body(page);
+    }
+
+    /**
+     * Search customers by name, email, company or notes
+     * Words and word prefixes all have to match; results are ranked by relevance
+     */
+    @GetMapping("/search")
+    public ResponseEntity<List<CustomerSummaryDTO>> searchCustomers(
+        @RequestParam String q,
+        @RequestParam(required = false) Integer limit
+    ) {
+        List<CustomerSummaryDTO> customers = customerService.searchCustomers(q, limit);
         return ResponseEntity.ok(customers);
     }
 
+    /**
+     * Export all customers as newline-delimited JSON
+     * The body is written asynchronously from a database cursor, one line per customer
+     */
+    @GetMapping(value = "/export", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> exportCustomers() {
+        StreamingResponseBody body = customerService::exportCustomers;
+        return ResponseEntity.ok()
+            .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"customers.ndjson\"")
+            .contentType(MediaType.APPLICATION_NDJSON)
+            .body(body);
+    }
+
+    /**
+     * Stream customer changes as Server-Sent Events (created, updated, deleted)
+     * Each event id is an outbox id; reconnecting with Last-Event-ID replays what was missed
+     */
+    @GetMapping(value = "/changes", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamChanges(@RequestHeader(value = "Last-Event-ID", required = false) Long lastEventId) {
+        return customerChangeFeed.subscribe(lastEventId);
+    }
+
+    /**
+     * Get customers changed since a watermark, with tombstones for deleted ones
+     * Start without since (resyncRequired, current watermark), load the list, then keep
+     * calling with the returned watermark; repeat right away while hasMore is set
+     */
+    @GetMapping("/sync")
+    public ResponseEntity<CustomerSyncDTO> syncCustomers(@RequestParam(required = false) Long since) {
+        return ResponseEntity.ok(customerSyncService.getChangesSince(since));
+    }
+
+    /**
+     * Dashboard statistics: total, largest companies, customers created per day and week
+     */
+    @GetMapping("/stats")
+    public ResponseEntity<CustomerStatsDTO> getCustomerStats() {
+        return ResponseEntity.ok(customerService.getCustomerStats());
+    }
+
+    /**
+     * Customer cache hit/miss/eviction statistics
+     */
+    @GetMapping("/cache/stats")
+    public ResponseEntity<Map<String, Object>> getCacheStats() {
+        return ResponseEntity.ok(customerService.getCacheStats());
+    }
+
     /**
      * Get customer by ID
-     * MapStruct converts Customer entity to CustomerDTO
+     * Strong ETag from id and updatedAt; a matching If-None-Match answers 304 without a body.
+     * The body is copied from CustomerJsonCache as is, gzipped when cached so and accepted.
+     * fields=... returns only those fields (plus id and updatedAt), with an ETag of its own
      */
     @GetMapping("/{id}")
-    public ResponseEntity<CustomerDTO> getCustomerById(@PathVariable Long id) {
-        CustomerDTO customer = customerService.getCustomerById(id);
-        return ResponseEntity.ok(customer);
+    public ResponseEntity<?> getCustomerById(
+        @PathVariable Long id,
+        @RequestParam(required = false) String fields,
+        WebRequest request,
+        HttpServletResponse response
+    ) throws IOException {
+        Set<CustomerField> selected = CustomerField.parse(fields);
+        if (selected != null) {
+            Map<String, Object> customer = customerService.getCustomerFieldsById(id, selected);
+            String etag = CustomerETags.of(id, (LocalDateTime) customer.get("updatedAt"), selected);
+            if (request.checkNotModified(etag)) {
+                return null;
+            }
+            return ResponseEntity.ok().eTag(etag).body(customer);
+        }
+
+        CustomerJsonCache.SerializedCustomer customer = customerService.getSerializedCustomer(id);
+        if (request.checkNotModified(customer.etag())) {
+            return null;
+        }
+        boolean gzip = customer.gzip() != null
+            && AcceptEncoding.acceptsGzip(request.getHeaderValues(HttpHeaders.ACCEPT_ENCODING));
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        response.setContentLength(customer.length(gzip));
+        response.addHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+        if (gzip) {
+            response.setHeader(HttpHeaders.CONTENT_ENCODING, "gzip");
+        }
+        customer.writeTo(response.getOutputStream(), gzip);
+        return null;
     }
 
     /**
@@ -51,33 +182,48 @@ public class CustomerController {
     @PostMapping
     public ResponseEntity<CustomerDTO> createCustomer(@Valid @RequestBody CustomerCreateDTO createDTO) {
         CustomerDTO customer = customerService.createCustomer(createDTO);
-        return ResponseEntity.status(HttpStatus.CREATED).body(customer);
+        return ResponseEntity.status(HttpStatus.CREATED).eTag(CustomerETags.of(customer)).body(customer);
+    }
+
+    /**
+     * Create many customers in one request
+     * Items are validated one by one and persisted in batched chunks; the response
+     * reports the outcome of every item, in request order
+     */
+    @PostMapping("/bulk")
+    public ResponseEntity<CustomerBulkResultDTO> bulkCreateCustomers(@RequestBody List<CustomerCreateDTO> createDTOs) {
+        CustomerBulkResultDTO result = customerBulkService.bulkCreateCustomers(createDTOs);
+        return ResponseEntity.ok(result);
     }
 
     /**
      * Update customer (full update)
      * MapStruct uses @MappingTarget to update existing entity
+     * An If-Match that no longer matches the stored customer answers 412
      */
     @PutMapping("/{id}")
     public ResponseEntity<CustomerDTO> updateCustomer(
         @PathVariable Long id,
-        @Valid @RequestBody CustomerUpdateDTO updateDTO
+        @Valid @RequestBody CustomerUpdateDTO updateDTO,
+        @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch
     ) {
-        CustomerDTO customer = customerService.updateCustomer(id, updateDTO);
-        return ResponseEntity.ok(customer);
+        CustomerDTO customer = customerService.updateCustomer(id, updateDTO, ifMatch);
+        return ResponseEntity.ok().eTag(CustomerETags.of(customer)).body(customer);
     }
 
     /**
      * Partial update customer
      * MapStruct updates only non-null fields from DTO
+     * An If-Match that no longer matches the stored customer answers 412
      */
     @PatchMapping("/{id}")
     public ResponseEntity<CustomerDTO> partialUpdateCustomer(
         @PathVariable Long id,
-        @RequestBody CustomerUpdateDTO updateDTO
+        @RequestBody CustomerUpdateDTO updateDTO,
+        @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch
     ) {
-        CustomerDTO customer = customerService.partialUpdateCustomer(id, updateDTO);
-        return ResponseEntity.ok(customer);
+        CustomerDTO customer = customerService.partialUpdateCustomer(id, updateDTO, ifMatch);
+        return ResponseEntity.ok().eTag(CustomerETags.of(customer)).body(customer);
     }
 
     /**
@@ -0,0 +1,56 @@
+package com.dev.crm.controller;
+
+import com.dev.crm.dto.CustomerImportStatusDTO;
+import com.dev.crm.service.CustomerImportService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.Resource;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.IOException;
+
+/**
+ * Customer CSV import
+ * Upload starts a background job; poll its status and download rejected rows
+ */
+@RestController
+@RequestMapping("/api/customers/import")
+@RequiredArgsConstructor
+public class CustomerImportController {
+
+    private final CustomerImportService customerImportService;
+
+    /**
+     * Start importing a CSV file (header row with firstName, lastName, email and
+     * optionally phoneNumber, companyName, notes); existing emails are updated
+     */
+    @PostMapping(consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+    public ResponseEntity<CustomerImportStatusDTO> startImport(@RequestParam("file") MultipartFile file) throws IOException {
+        CustomerImportStatusDTO status = customerImportService.startImport(file);
+        return ResponseEntity.accepted().body(status);
+    }
+
+    /**
+     * Import progress
+     */
+    @GetMapping("/{jobId}")
+    public ResponseEntity<CustomerImportStatusDTO> getStatus(@PathVariable String jobId) {
+        return ResponseEntity.ok(customerImportService.getStatus(jobId));
+    }
+
+    /**
+     * Rejected rows of an import as CSV
+     */
+    @GetMapping("/{jobId}/errors")
+    public ResponseEntity<Resource> getErrors(@PathVariable String jobId) {
+        Resource errors = new FileSystemResource(customerImportService.getErrorFile(jobId));
+        return ResponseEntity.ok()
+            .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"import-" + jobId + "-errors.csv\"")
+            .contentType(MediaType.parseMediaType("text/csv"))
+            .body(errors);
+    }
+}
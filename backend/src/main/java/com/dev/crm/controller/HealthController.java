@@ -1,18 +1,30 @@
 package com.dev.crm.controller;
 
+import com.dev.crm.datasource.DatabaseBulkhead;
+import com.dev.crm.datasource.ReadWriteRoutingDataSource;
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.HikariPoolMXBean;
+import lombok.RequiredArgsConstructor;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
 
+import javax.sql.DataSource;
+import java.sql.SQLException;
 import java.time.LocalDateTime;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.Map;
 
 @RestController
 @RequestMapping("/api")
+@RequiredArgsConstructor
 public class HealthController {
 
+    private final DataSource dataSource;
+    private final DatabaseBulkhead databaseBulkhead;
+
     @GetMapping("/health")
     public ResponseEntity<Map<String, Object>> health() {
         Map<String, Object> response = new HashMap<>();
@@ -22,6 +34,31 @@ public class HealthController {
         return ResponseEntity.ok(response);
     }
 
+    /**
+     * Connection pool and bulkhead state: queue depth, wait times, rejections,
+     * plus replica routing and lag when read replicas are configured
+     */
+    @GetMapping("/health/db")
+    public ResponseEntity<Map<String, Object>> database() throws SQLException {
+        Map<String, Object> response = new LinkedHashMap<>();
+        response.put("virtualThreads", Thread.currentThread().isVirtual());
+        response.put("bulkhead", databaseBulkhead.stats());
+
+        HikariPoolMXBean pool = dataSource.unwrap(HikariDataSource.class).getHikariPoolMXBean();
+        if (pool != null) {
+            Map<String, Object> poolStats = new LinkedHashMap<>();
+            poolStats.put("active", pool.getActiveConnections());
+            poolStats.put("idle", pool.getIdleConnections());
+            poolStats.put("total", pool.getTotalConnections());
+            poolStats.put("threadsAwaitingConnection", pool.getThreadsAwaitingConnection());
+            response.put("pool", poolStats);
+        }
+        if (dataSource instanceof ReadWriteRoutingDataSource routing) {
+            response.put("readReplicas", routing.replicaStats());
+        }
+        return ResponseEntity.ok(response);
+    }
+
     @GetMapping("/info")
     public ResponseEntity<Map<String, String>> info() {
         Map<String, String> response = new HashMap<>();
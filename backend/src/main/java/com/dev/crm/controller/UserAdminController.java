@@ -0,0 +1,34 @@
+package com.dev.crm.controller;
+
+import com.dev.crm.dto.UserBulkResultDTO;
+import com.dev.crm.dto.UserProvisionDTO;
+import com.dev.crm.service.UserProvisioningService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+/**
+ * User administration
+ * Restricted to ROLE_ADMIN
+ */
+@RestController
+@RequestMapping("/api/admin/users")
+@RequiredArgsConstructor
+@PreAuthorize("hasRole('ADMIN')")
+public class UserAdminController {
+
+    private final UserProvisioningService userProvisioningService;
+
+    /**
+     * Provision many users at once
+     * Items are validated one by one; passwords are hashed in parallel and users inserted
+     * in batched chunks. The response reports the outcome of every item, in request order
+     */
+    @PostMapping("/bulk")
+    public ResponseEntity<UserBulkResultDTO> provisionUsers(@RequestBody List<UserProvisionDTO> users) {
+        return ResponseEntity.ok(userProvisioningService.provisionUsers(users));
+    }
+}
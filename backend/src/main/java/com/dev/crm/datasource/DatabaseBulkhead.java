@@ -0,0 +1,122 @@
+package com.dev.crm.datasource;
+
+import com.dev.crm.exception.DatabaseBusyException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Semaphore bulkhead in front of the connection pool, sized to the pool.
+ * With virtual threads thousands of requests may want a connection at once; they
+ * queue here cheaply and give up after a short timeout (503) instead of all parking
+ * inside Hikari until its 30 second connectionTimeout.
+ * Permits in use, queue length, wait time and rejections are published as meters
+ * tagged with the pool name.
+ */
+@Component
+public class DatabaseBulkhead {
+
+    private final boolean enabled;
+    private final int permits;
+    private final long timeoutNanos;
+    private final Semaphore semaphore;
+
+    private final Timer wait;
+    private final Counter rejected;
+    // Since startup; the timer's max only covers its recent window
+    private final AtomicLong maxWaitNanos = new AtomicLong();
+
+    public DatabaseBulkhead(
+        @Value("${app.db.bulkhead.enabled:false}") boolean enabled,
+        @Value("${app.db.bulkhead.permits:${spring.datasource.hikari.maximumPoolSize:10}}") int permits,
+        @Value("${app.db.bulkhead.timeout-ms:2000}") long timeoutMs,
+        @Value("${spring.datasource.hikari.poolName:HikariPool-1}") String poolName,
+        MeterRegistry meterRegistry
+    ) {
+        this.enabled = enabled;
+        this.permits = permits;
+        this.timeoutNanos = TimeUnit.MILLISECONDS.toNanos(timeoutMs);
+        // Fair, so waiters are served in arrival order
+        this.semaphore = new Semaphore(permits, true);
+        this.wait = Timer.builder("crm.db.bulkhead.wait")
+            .description("Time to get a database connection, bulkhead permit plus pool borrow")
+            .tag("pool", poolName)
+            .publishPercentileHistogram()
+            .register(meterRegistry);
+        this.rejected = Counter.builder("crm.db.bulkhead.rejected")
+            .description("Requests refused because no permit came free within the timeout")
+            .tag("pool", poolName)
+            .register(meterRegistry);
+        Gauge.builder("crm.db.bulkhead.active", semaphore, s -> permits - s.availablePermits())
+            .description("Bulkhead permits in use")
+            .tag("pool", poolName)
+            .register(meterRegistry);
+        Gauge.builder("crm.db.bulkhead.queue", semaphore, Semaphore::getQueueLength)
+            .description("Callers waiting for a bulkhead permit")
+            .tag("pool", poolName)
+            .register(meterRegistry);
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    void acquire() throws DatabaseBusyException {
+        try {
+            if (!semaphore.tryAcquire(timeoutNanos, TimeUnit.NANOSECONDS)) {
+                rejected.increment();
+                throw new DatabaseBusyException("No database connection available, retry later");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            rejected.increment();
+            throw new DatabaseBusyException("Interrupted while waiting for a database connection");
+        }
+    }
+
+    void release() {
+        semaphore.release();
+    }
+
+    /**
+     * Record the full time a caller waited for a connection (bulkhead plus pool)
+     */
+    void recordWait(long nanos) {
+        wait.record(nanos, TimeUnit.NANOSECONDS);
+        maxWaitNanos.accumulateAndGet(nanos, Math::max);
+    }
+
+    /**
+     * Callers currently waiting for a permit
+     */
+    public int getQueueDepth() {
+        return semaphore.getQueueLength();
+    }
+
+    public int getAvailablePermits() {
+        return semaphore.availablePermits();
+    }
+
+    public Map<String, Object> stats() {
+        long count = wait.count();
+        Map<String, Object> response = new LinkedHashMap<>();
+        response.put("enabled", enabled);
+        response.put("permits", permits);
+        response.put("availablePermits", getAvailablePermits());
+        response.put("queueDepth", getQueueDepth());
+        response.put("acquired", count);
+        response.put("rejected", (long) rejected.count());
+        response.put("averageWaitMs", count == 0 ? 0.0 : wait.totalTime(TimeUnit.MILLISECONDS) / count);
+        response.put("maxWaitMs", maxWaitNanos.get() / 1_000_000.0);
+        return response;
+    }
+}
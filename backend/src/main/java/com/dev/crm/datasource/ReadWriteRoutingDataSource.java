@@ -0,0 +1,52 @@
+package com.dev.crm.datasource;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.Map;
+
+/**
+ * Sends read-only transactions to the replicas and everything else to the primary.
+ * The physical connection is fetched lazily, on the first statement, by which time the
+ * transaction manager has marked the connection read-only; that mark picks the pool.
+ * A read-write connection pins the rest of the request to the primary ({@link ReadYourWrites}).
+ */
+public class ReadWriteRoutingDataSource extends LazyConnectionDataSourceProxy implements AutoCloseable {
+
+    private final DataSource primary;
+    private final ReplicaDataSource replicas;
+
+    public ReadWriteRoutingDataSource(DataSource primary, ReplicaDataSource replicas) {
+        this.primary = primary;
+        this.replicas = replicas;
+        setTargetDataSource(new DelegatingDataSource(primary) {
+            @Override
+            public Connection getConnection() throws SQLException {
+                if (TransactionSynchronizationManager.isActualTransactionActive()
+                    && !TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+                    ReadYourWrites.pin();
+                }
+                return super.getConnection();
+            }
+        });
+        setReadOnlyDataSource(replicas);
+        afterPropertiesSet();
+    }
+
+    public Map<String, Object> replicaStats() {
+        return replicas.stats();
+    }
+
+    @Override
+    public void close() throws SQLException {
+        replicas.close();
+        if (primary.isWrapperFor(HikariDataSource.class)) {
+            primary.unwrap(HikariDataSource.class).close();
+        }
+    }
+}
@@ -0,0 +1,29 @@
+package com.dev.crm.datasource;
+
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+
+/**
+ * Read-your-writes pin: once a request has opened a read-write transaction, its later
+ * read-only transactions stay on the primary so they cannot miss that write on a lagging replica.
+ * Kept in the request attributes, so it ends with the request; outside a request nothing is pinned.
+ */
+public final class ReadYourWrites {
+
+    private static final String PINNED = ReadYourWrites.class.getName() + ".PINNED";
+
+    private ReadYourWrites() {
+    }
+
+    static void pin() {
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        if (attributes != null) {
+            attributes.setAttribute(PINNED, Boolean.TRUE, RequestAttributes.SCOPE_REQUEST);
+        }
+    }
+
+    public static boolean isPinned() {
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        return attributes != null && attributes.getAttribute(PINNED, RequestAttributes.SCOPE_REQUEST) != null;
+    }
+}
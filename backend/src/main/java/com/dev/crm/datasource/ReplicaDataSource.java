@@ -0,0 +1,159 @@
+package com.dev.crm.datasource;
+
+import com.zaxxer.hikari.HikariDataSource;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.datasource.AbstractDataSource;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.SQLFeatureNotSupportedException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Connections for read-only transactions, balanced round robin over the replica pools.
+ * A background check measures each replica's replication lag; replicas over the limit
+ * (or failing the check) are skipped until they catch up, and when none is usable,
+ * or the request is pinned by {@link ReadYourWrites}, the primary serves the read.
+ */
+@Slf4j
+public class ReplicaDataSource extends AbstractDataSource implements AutoCloseable {
+
+    private final List<Replica> replicas;
+    private final DataSource primary;
+    private final double maxLagSeconds;
+    private final String lagQuery;
+    private final AtomicInteger next = new AtomicInteger();
+    private final ScheduledExecutorService lagChecker;
+
+    private final LongAdder replicaReads = new LongAdder();
+    private final LongAdder primaryFallbacks = new LongAdder();
+    private final LongAdder pinnedReads = new LongAdder();
+
+    /**
+     * @param pool    the replica's own Hikari pool, for lag checks and shutdown
+     * @param guarded what connections are taken from: the pool, possibly behind its bulkhead
+     */
+    public record ReplicaPool(HikariDataSource pool, DataSource guarded) {
+    }
+
+    private static final class Replica {
+        private final ReplicaPool pool;
+        private volatile boolean usable = true;
+        private volatile double lagSeconds;
+
+        private Replica(ReplicaPool pool) {
+            this.pool = pool;
+        }
+    }
+
+    /**
+     * @param maxLagSeconds   replicas lagging more are skipped; 0 turns lag checks off
+     * @param lagQuery        query returning the replica's lag in seconds as a single number
+     * @param checkIntervalMs how often every replica's lag is measured
+     */
+    public ReplicaDataSource(List<ReplicaPool> replicas, DataSource primary,
+                             double maxLagSeconds, String lagQuery, long checkIntervalMs) {
+        List<Replica> list = new ArrayList<>(replicas.size());
+        for (ReplicaPool replica : replicas) {
+            list.add(new Replica(replica));
+        }
+        this.replicas = List.copyOf(list);
+        this.primary = primary;
+        this.maxLagSeconds = maxLagSeconds;
+        this.lagQuery = lagQuery;
+        if (maxLagSeconds > 0) {
+            this.lagChecker = Executors.newSingleThreadScheduledExecutor(runnable -> {
+                Thread thread = new Thread(runnable, "replica-lag-check");
+                thread.setDaemon(true);
+                return thread;
+            });
+            lagChecker.scheduleWithFixedDelay(this::checkLag, 0, checkIntervalMs, TimeUnit.MILLISECONDS);
+        } else {
+            this.lagChecker = null;
+        }
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        if (ReadYourWrites.isPinned()) {
+            pinnedReads.increment();
+            return primary.getConnection();
+        }
+        int size = replicas.size();
+        int start = Math.floorMod(next.getAndIncrement(), size);
+        for (int i = 0; i < size; i++) {
+            Replica replica = replicas.get((start + i) % size);
+            if (replica.usable) {
+                replicaReads.increment();
+                return replica.pool.guarded().getConnection();
+            }
+        }
+        primaryFallbacks.increment();
+        return primary.getConnection();
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        throw new SQLFeatureNotSupportedException("Replica connections use the pool credentials");
+    }
+
+    private void checkLag() {
+        for (Replica replica : replicas) {
+            boolean wasUsable = replica.usable;
+            try (Connection connection = replica.pool.pool().getConnection();
+                 Statement statement = connection.createStatement();
+                 ResultSet result = statement.executeQuery(lagQuery)) {
+                replica.lagSeconds = result.next() ? result.getDouble(1) : 0;
+                replica.usable = replica.lagSeconds <= maxLagSeconds;
+            } catch (SQLException | RuntimeException e) {
+                replica.usable = false;
+                log.debug("Lag check failed on {}", replica.pool.pool().getPoolName(), e);
+            }
+            if (wasUsable != replica.usable) {
+                log.warn("Replica {} is now {} (lag {} s)", replica.pool.pool().getPoolName(),
+                    replica.usable ? "in use" : "skipped", replica.lagSeconds);
+            }
+        }
+    }
+
+    public Map<String, Object> stats() {
+        Map<String, Object> response = new LinkedHashMap<>();
+        response.put("replicaReads", replicaReads.sum());
+        response.put("primaryFallbacks", primaryFallbacks.sum());
+        response.put("pinnedReads", pinnedReads.sum());
+        response.put("maxLagSeconds", maxLagSeconds);
+        List<Map<String, Object>> pools = new ArrayList<>(replicas.size());
+        for (Replica replica : replicas) {
+            Map<String, Object> pool = new LinkedHashMap<>();
+            pool.put("name", replica.pool.pool().getPoolName());
+            pool.put("usable", replica.usable);
+            pool.put("lagSeconds", replica.lagSeconds);
+            if (replica.pool.pool().getHikariPoolMXBean() != null) {
+                pool.put("active", replica.pool.pool().getHikariPoolMXBean().getActiveConnections());
+                pool.put("idle", replica.pool.pool().getHikariPoolMXBean().getIdleConnections());
+            }
+            pools.add(pool);
+        }
+        response.put("replicas", pools);
+        return response;
+    }
+
+    @Override
+    public void close() {
+        if (lagChecker != null) {
+            lagChecker.shutdownNow();
+        }
+        replicas.forEach(replica -> replica.pool.pool().close());
+    }
+}
@@ -11,6 +11,9 @@ public class AuthResponseDTO {
 
     private String token;
     private String type = "Bearer";
+    private String refreshToken;
+    // Access token lifetime in seconds
+    private long expiresIn;
     private Long id;
     private String username;
     private String email;
@@ -18,8 +21,11 @@ public class AuthResponseDTO {
     private String lastName;
     private String role;
 
-    public AuthResponseDTO(String token, Long id, String username, String email, String firstName, String lastName, String role) {
+    public AuthResponseDTO(String token, String refreshToken, long expiresIn, Long id, String username, String email,
+                           String firstName, String lastName, String role) {
         this.token = token;
+        this.refreshToken = refreshToken;
+        this.expiresIn = expiresIn;
         this.id = id;
         this.username = username;
         this.email = email;
@@ -0,0 +1,38 @@
+package com.dev.crm.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Outcome of one item of a bulk customer request
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CustomerBulkItemResultDTO {
+
+    /**
+     * Position of the item in the request
+     */
+    private int index;
+
+    private String email;
+
+    /**
+     * CREATED or FAILED
+     */
+    private String status;
+
+    private Long id;
+
+    private String error;
+
+    public static CustomerBulkItemResultDTO created(int index, String email, Long id) {
+        return new CustomerBulkItemResultDTO(index, email, "CREATED", id, null);
+    }
+
+    public static CustomerBulkItemResultDTO failed(int index, String email, String error) {
+        return new CustomerBulkItemResultDTO(index, email, "FAILED", null, error);
+    }
+}
@@ -0,0 +1,19 @@
+package com.dev.crm.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CustomerBulkResultDTO {
+
+    private int created;
+
+    private int failed;
+
+    private List<CustomerBulkItemResultDTO> results;
+}
@@ -0,0 +1,30 @@
+package com.dev.crm.dto;
+
+import com.fasterxml.jackson.annotation.JsonRawValue;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * One entry of the customer change feed
+ * The customer is the stored outbox JSON, passed through without re-parsing
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CustomerChangeDTO {
+
+    private Long id;
+
+    private String type;
+
+    private Long customerId;
+
+    // CustomerDTO as JSON, null for deletions
+    @JsonRawValue
+    private String customer;
+
+    private LocalDateTime changedAt;
+}
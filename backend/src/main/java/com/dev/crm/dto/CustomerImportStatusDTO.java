@@ -0,0 +1,39 @@
+package com.dev.crm.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Progress of a CSV customer import
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CustomerImportStatusDTO {
+
+    private String jobId;
+
+    /**
+     * RUNNING, COMPLETED or FAILED
+     */
+    private String status;
+
+    private String fileName;
+
+    private long rowsRead;
+
+    private long created;
+
+    private long updated;
+
+    private long failed;
+
+    private LocalDateTime startedAt;
+
+    private LocalDateTime finishedAt;
+
+    private String error;
+}
@@ -0,0 +1,30 @@
+package com.dev.crm.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * One keyset page of customers.
+ * next/prev are opaque cursors; null when there is nothing further in that direction.
+ * Rows are CustomerSummaryDTOs, or field maps when the client asked for a sparse fieldset.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CustomerPageDTO<T> {
+
+    private List<T> content;
+
+    private int size;
+
+    private String sort;
+
+    private String direction;
+
+    private String next;
+
+    private String prev;
+}
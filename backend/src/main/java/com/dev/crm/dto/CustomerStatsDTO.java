@@ -0,0 +1,34 @@
+package com.dev.crm.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Map;
+
+/**
+ * Dashboard customer statistics
+ * byCompany holds the largest companies, most customers first ("" for customers without one);
+ * createdPerDay and createdPerWeek (keyed by Monday) cover the most recent periods, oldest first.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CustomerStatsDTO {
+
+    private long total;
+
+    private long companies;
+
+    private Map<String, Long> byCompany;
+
+    private Map<LocalDate, Long> createdPerDay;
+
+    private Map<LocalDate, Long> createdPerWeek;
+
+    private LocalDateTime generatedAt;
+
+    private LocalDateTime reconciledAt;
+}
@@ -0,0 +1,33 @@
+package com.dev.crm.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * List view of a customer
+ * Same as CustomerDTO without notes; built directly by the SELECT, not from an entity
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CustomerSummaryDTO {
+
+    private Long id;
+
+    private String firstName;
+
+    private String lastName;
+
+    private String email;
+
+    private String phoneNumber;
+
+    private String companyName;
+
+    private LocalDateTime createdAt;
+
+    private LocalDateTime updatedAt;
+}
@@ -0,0 +1,30 @@
+package com.dev.crm.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Customers changed since a watermark
+ * Changed customers carry their latest state; deleted ones are listed as tombstones (ids).
+ * Pass the returned watermark as since on the next call. When resyncRequired is set the
+ * client's copy cannot be brought up to date incrementally: reload the list, then sync
+ * from the returned watermark.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CustomerSyncDTO {
+
+    private List<CustomerDTO> changed;
+
+    private List<Long> deleted;
+
+    private Long watermark;
+
+    private boolean hasMore;
+
+    private boolean resyncRequired;
+}
@@ -0,0 +1,38 @@
+package com.dev.crm.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Outcome of one item of a bulk user provisioning request
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class UserBulkItemResultDTO {
+
+    /**
+     * Position of the item in the request
+     */
+    private int index;
+
+    private String username;
+
+    /**
+     * CREATED or FAILED
+     */
+    private String status;
+
+    private Long id;
+
+    private String error;
+
+    public static UserBulkItemResultDTO created(int index, String username, Long id) {
+        return new UserBulkItemResultDTO(index, username, "CREATED", id, null);
+    }
+
+    public static UserBulkItemResultDTO failed(int index, String username, String error) {
+        return new UserBulkItemResultDTO(index, username, "FAILED", null, error);
+    }
+}
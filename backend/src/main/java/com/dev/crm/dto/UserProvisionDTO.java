@@ -0,0 +1,40 @@
+package com.dev.crm.dto;
+
+import jakarta.validation.constraints.Email;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.Pattern;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * One user of an admin bulk-provisioning request
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class UserProvisionDTO {
+
+    @NotBlank(message = "Username is required")
+    @Size(min = 3, max = 50, message = "Username must be between 3 and 50 characters")
+    private String username;
+
+    @NotBlank(message = "Email is required")
+    @Email(message = "Email should be valid")
+    private String email;
+
+    @NotBlank(message = "Password is required")
+    @Size(min = 6, message = "Password must be at least 6 characters")
+    private String password;
+
+    private String firstName;
+
+    private String lastName;
+
+    /**
+     * Defaults to ROLE_USER
+     */
+    @Pattern(regexp = "ROLE_[A-Z_]+", message = "Role must look like ROLE_NAME")
+    private String role;
+}
@@ -0,0 +1,47 @@
+package com.dev.crm.entity;
+
+import com.dev.crm.event.CustomerChangedEvent;
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Outbox row: one customer change, written in the transaction that made it
+ */
+@Entity
+@Table(
+    name = "customer_changes",
+    indexes = {
+        // Feed polling reads the most recent rows by change time
+        @Index(name = "idx_customer_changes_changed_at", columnList = "changed_at")
+    }
+)
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CustomerChange {
+
+    // Also the SSE event id clients resume from
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "customer_changes_seq")
+    @SequenceGenerator(name = "customer_changes_seq", sequenceName = "customer_changes_seq", allocationSize = 50)
+    private Long id;
+
+    @Column(name = "customer_id", nullable = false)
+    private Long customerId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "change_type", nullable = false, length = 10)
+    private CustomerChangedEvent.Type type;
+
+    // CustomerDTO as JSON, null for deletions
+    @Lob
+    @Column(name = "payload")
+    private String payload;
+
+    @Column(name = "changed_at", nullable = false)
+    private LocalDateTime changedAt;
+}
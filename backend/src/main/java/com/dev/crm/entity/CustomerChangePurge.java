@@ -0,0 +1,24 @@
+package com.dev.crm.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Single row: the highest outbox id removed by retention
+ * Watermarks at or above it still see every later change; lower ones may have missed some.
+ */
+@Entity
+@Table(name = "customer_change_purges")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CustomerChangePurge {
+
+    @Id
+    private Long id;
+
+    @Column(name = "purged_through", nullable = false)
+    private Long purgedThrough;
+}
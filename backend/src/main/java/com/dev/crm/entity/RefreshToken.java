@@ -0,0 +1,44 @@
+package com.dev.crm.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Issued refresh token, stored by hash only
+ * Tokens of one login form a family; every refresh uses up its token and issues the next
+ * one in the family. Presenting a used token again means it leaked, and ends the family.
+ */
+@Entity
+@Table(
+    name = "refresh_tokens",
+    indexes = {
+        @Index(name = "idx_refresh_tokens_family_id", columnList = "family_id"),
+        @Index(name = "idx_refresh_tokens_expires_at", columnList = "expires_at")
+    }
+)
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class RefreshToken {
+
+    // Hex SHA-256 of the token handed to the client
+    @Id
+    @Column(name = "token_hash", length = 64)
+    private String tokenHash;
+
+    @Column(name = "user_id", nullable = false)
+    private Long userId;
+
+    @Column(name = "family_id", nullable = false, length = 36)
+    private String familyId;
+
+    @Column(nullable = false)
+    private boolean used;
+
+    @Column(name = "expires_at", nullable = false)
+    private LocalDateTime expiresAt;
+}
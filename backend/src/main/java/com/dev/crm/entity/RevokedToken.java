@@ -0,0 +1,36 @@
+package com.dev.crm.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Access token revoked before its expiry (logout); shared by all instances through polling
+ */
+@Entity
+@Table(
+    name = "revoked_tokens",
+    indexes = {
+        // Instances poll for revocations made since their last poll
+        @Index(name = "idx_revoked_tokens_revoked_at", columnList = "revoked_at")
+    }
+)
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class RevokedToken {
+
+    // jti claim of the access token
+    @Id
+    @Column(length = 36)
+    private String jti;
+
+    @Column(name = "expires_at", nullable = false)
+    private LocalDateTime expiresAt;
+
+    @Column(name = "revoked_at", nullable = false)
+    private LocalDateTime revokedAt;
+}
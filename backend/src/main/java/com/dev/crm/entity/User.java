@@ -16,14 +16,20 @@ import java.util.Collection;
 import java.util.List;
 
 @Entity
-@Table(name = "users")
+@Table(
+    name = "users",
+    indexes = @Index(name = "idx_users_updated_at", columnList = "updated_at")
+)
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
 public class User implements UserDetails {
 
+    // Sequence with a pooled optimizer so bulk provisioning can batch its inserts.
+    // A NEXTVAL of n hands out the block n-49..n, so the sequence must start at max(id) + 50
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "users_seq")
+    @SequenceGenerator(name = "users_seq", sequenceName = "users_seq", allocationSize = 50)
     private Long id;
 
     @NotBlank(message = "Username is required")
@@ -58,15 +64,49 @@ public class User implements UserDetails {
     @Column(name = "updated_at")
     private LocalDateTime updatedAt;
 
+    // Carried in every access token; raised whenever the account changes in a way that must
+    // end its existing tokens (disabled, role or password changed)
+    @Column(name = "token_version", nullable = false)
+    private long tokenVersion;
+
+    // Role, enabled flag and password hash as loaded, to tell which updates raise tokenVersion
+    @Transient
+    private String loadedRole;
+
+    @Transient
+    private boolean loadedEnabled;
+
+    @Transient
+    private String loadedPassword;
+
     @PrePersist
     protected void onCreate() {
         createdAt = LocalDateTime.now();
         updatedAt = LocalDateTime.now();
     }
 
+    @PostLoad
+    protected void onLoad() {
+        loadedRole = role;
+        loadedEnabled = enabled;
+        loadedPassword = password;
+    }
+
     @PreUpdate
     protected void onUpdate() {
         updatedAt = LocalDateTime.now();
+        if (!role.equals(loadedRole) || enabled != loadedEnabled || !password.equals(loadedPassword)) {
+            tokenVersion++;
+        }
+    }
+
+    /**
+     * Store a new hash of the same password, e.g. after the work factor was raised;
+     * unlike a password change this keeps the account's tokens valid
+     */
+    public void rehashPassword(String hash) {
+        password = hash;
+        loadedPassword = hash;
     }
 
     // UserDetails implementation
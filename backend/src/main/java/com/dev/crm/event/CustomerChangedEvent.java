@@ -0,0 +1,34 @@
+package com.dev.crm.event;
+
+import com.dev.crm.dto.CustomerDTO;
+
+/**
+ * Published by CustomerService whenever a customer is created, updated or deleted.
+ * Listeners that keep derived state (indexes, caches, counters) should react
+ * after commit so rolled back writes are never observed.
+ *
+ * @param type     kind of change
+ * @param id       id of the changed customer
+ * @param customer state after the change, null for deletions
+ * @param previous state before the change, null for creations (and when the writer could not know it)
+ */
+public record CustomerChangedEvent(Type type, Long id, CustomerDTO customer, CustomerDTO previous) {
+
+    public enum Type {
+        CREATED,
+        UPDATED,
+        DELETED
+    }
+
+    public static CustomerChangedEvent created(CustomerDTO customer) {
+        return new CustomerChangedEvent(Type.CREATED, customer.getId(), customer, null);
+    }
+
+    public static CustomerChangedEvent updated(CustomerDTO previous, CustomerDTO customer) {
+        return new CustomerChangedEvent(Type.UPDATED, customer.getId(), customer, previous);
+    }
+
+    public static CustomerChangedEvent deleted(CustomerDTO previous) {
+        return new CustomerChangedEvent(Type.DELETED, previous.getId(), null, previous);
+    }
+}
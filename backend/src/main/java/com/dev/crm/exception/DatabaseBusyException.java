@@ -0,0 +1,19 @@
+package com.dev.crm.exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+import java.sql.SQLTransientConnectionException;
+
+/**
+ * Thrown when no database connection permit frees up within the bulkhead timeout.
+ * Raised from DataSource.getConnection, so it usually arrives wrapped in a Spring
+ * data access or transaction exception; @ResponseStatus is resolved through the cause chain.
+ */
+@ResponseStatus(HttpStatus.SERVICE_UNAVAILABLE)
+public class DatabaseBusyException extends SQLTransientConnectionException {
+
+    public DatabaseBusyException(String message) {
+        super(message);
+    }
+}
@@ -2,6 +2,7 @@ package com.dev.crm.mapper;
 
 import com.dev.crm.dto.CustomerCreateDTO;
 import com.dev.crm.dto.CustomerDTO;
+import com.dev.crm.dto.CustomerSummaryDTO;
 import com.dev.crm.dto.CustomerUpdateDTO;
 import com.dev.crm.entity.Customer;
 import org.mapstruct.*;
@@ -25,6 +26,11 @@ public interface CustomerMapper {
      */
     List<CustomerDTO> toDTOList(List<Customer> customers);
 
+    /**
+     * Convert CustomerDTO to its list view (drops notes)
+     */
+    CustomerSummaryDTO toSummary(CustomerDTO customerDTO);
+
     /**
      * Convert CustomerCreateDTO to Customer entity
      */
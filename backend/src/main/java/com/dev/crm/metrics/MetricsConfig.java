@@ -0,0 +1,48 @@
+package com.dev.crm.metrics;
+
+import com.dev.crm.mapper.CustomerMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.hibernate.autoconfigure.HibernatePropertiesCustomizer;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+
+/**
+ * Application metrics on top of what actuator records by itself (HTTP server requests,
+ * Hikari pools, Hibernate statistics, JVM): mapper timings and SQL statements per request.
+ * JWT, authentication filter and BCrypt timers are registered by their own components.
+ */
+@Configuration
+public class MetricsConfig {
+
+    @Bean
+    public static BeanPostProcessor timedCustomerMapperPostProcessor(ObjectProvider<MeterRegistry> meterRegistry) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (bean instanceof CustomerMapper mapper && !(bean instanceof TimedCustomerMapper)) {
+                    return new TimedCustomerMapper(mapper, meterRegistry.getObject());
+                }
+                return bean;
+            }
+        };
+    }
+
+    @Bean
+    public HibernatePropertiesCustomizer statementCounterCustomizer() {
+        return properties -> properties.put(AvailableSettings.STATEMENT_INSPECTOR, new StatementCounter());
+    }
+
+    @Bean
+    public FilterRegistrationBean<RequestStatementsFilter> requestStatementsFilter(MeterRegistry meterRegistry) {
+        FilterRegistrationBean<RequestStatementsFilter> registration =
+            new FilterRegistrationBean<>(new RequestStatementsFilter(meterRegistry));
+        // Outermost, so statements run by any later filter are counted too
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE);
+        return registration;
+    }
+}
@@ -0,0 +1,40 @@
+package com.dev.crm.metrics;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+
+/**
+ * Records how many SQL statements each request ran (on the request thread), as a distribution.
+ * A request that suddenly runs more statements shows up as a shifted percentile here long
+ * before it shows up in latency.
+ */
+class RequestStatementsFilter extends OncePerRequestFilter {
+
+    private final DistributionSummary statements;
+
+    RequestStatementsFilter(MeterRegistry meterRegistry) {
+        this.statements = DistributionSummary.builder("crm.hibernate.statements.per.request")
+            .description("SQL statements prepared by Hibernate per HTTP request")
+            .publishPercentileHistogram()
+            .register(meterRegistry);
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request,
+                                    HttpServletResponse response,
+                                    FilterChain filterChain) throws ServletException, IOException {
+        StatementCounter.start();
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            statements.record(StatementCounter.stop());
+        }
+    }
+}
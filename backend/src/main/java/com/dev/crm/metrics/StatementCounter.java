@@ -0,0 +1,38 @@
+package com.dev.crm.metrics;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+/**
+ * Counts the SQL statements Hibernate prepares on the current thread, so
+ * {@link RequestStatementsFilter} can report statements per request.
+ * Installed as Hibernate's statement inspector; returns the SQL unchanged.
+ */
+class StatementCounter implements StatementInspector {
+
+    private static final ThreadLocal<int[]> COUNT = new ThreadLocal<>();
+
+    @Override
+    public String inspect(String sql) {
+        int[] count = COUNT.get();
+        if (count != null) {
+            count[0]++;
+        }
+        return sql;
+    }
+
+    /**
+     * Start counting on this thread
+     */
+    static void start() {
+        COUNT.set(new int[1]);
+    }
+
+    /**
+     * Stop counting on this thread and return the number of statements since {@link #start()}
+     */
+    static int stop() {
+        int[] count = COUNT.get();
+        COUNT.remove();
+        return count == null ? 0 : count[0];
+    }
+}
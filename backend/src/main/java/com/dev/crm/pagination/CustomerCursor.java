@@ -0,0 +1,105 @@
+package com.dev.crm.pagination;
+
+import com.dev.crm.dto.CustomerSummaryDTO;
+import com.dev.crm.exception.BadRequestException;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * Position in a keyset-paginated customer listing.
+ * Encoded for clients as an opaque URL-safe token carrying the sort, the
+ * navigation direction and the (sortKey, id) of the boundary row.
+ *
+ * @param sort      sort key of the listing
+ * @param ascending sort order of the listing
+ * @param backward  true when the cursor points to the rows before the boundary row
+ * @param id        id of the boundary row, null for the first page
+ * @param key       sort key of the boundary row, null for the first page
+ */
+public record CustomerCursor(CustomerSortField sort, boolean ascending, boolean backward, Long id, Object key) {
+
+    private static final String VERSION = "v1";
+    private static final Base64.Encoder ENCODER = Base64.getUrlEncoder().withoutPadding();
+    private static final Base64.Decoder DECODER = Base64.getUrlDecoder();
+
+    /**
+     * Cursor for the first page of a listing
+     */
+    public static CustomerCursor first(CustomerSortField sort, boolean ascending) {
+        return new CustomerCursor(sort, ascending, false, null, null);
+    }
+
+    /**
+     * Cursor for the rows after the given customer
+     */
+    public static CustomerCursor after(CustomerSortField sort, boolean ascending, CustomerSummaryDTO customer) {
+        return after(sort, ascending, customer.getId(), sort.keyOf(customer));
+    }
+
+    /**
+     * Cursor for the rows after the row with the given id and sort key
+     */
+    public static CustomerCursor after(CustomerSortField sort, boolean ascending, Long id, Object key) {
+        return new CustomerCursor(sort, ascending, false, id, key);
+    }
+
+    /**
+     * Cursor for the rows before the given customer
+     */
+    public static CustomerCursor before(CustomerSortField sort, boolean ascending, CustomerSummaryDTO customer) {
+        return before(sort, ascending, customer.getId(), sort.keyOf(customer));
+    }
+
+    /**
+     * Cursor for the rows before the row with the given id and sort key
+     */
+    public static CustomerCursor before(CustomerSortField sort, boolean ascending, Long id, Object key) {
+        return new CustomerCursor(sort, ascending, true, id, key);
+    }
+
+    public boolean isFirst() {
+        return id == null;
+    }
+
+    /**
+     * Order the database has to scan in to reach the requested rows
+     */
+    public boolean scanAscending() {
+        return ascending != backward;
+    }
+
+    public String encode() {
+        String raw = String.join(":",
+                VERSION,
+                sort.getProperty(),
+                ascending ? "asc" : "desc",
+                backward ? "p" : "n",
+                String.valueOf(id),
+                String.valueOf(key));
+        return ENCODER.encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static CustomerCursor decode(String token) {
+        try {
+            String raw = new String(DECODER.decode(token), StandardCharsets.UTF_8);
+            // The key goes last so string keys may contain the separator
+            String[] parts = raw.split(":", 6);
+            if (parts.length != 6 || !VERSION.equals(parts[0])
+                    || !parts[2].matches("asc|desc") || !parts[3].matches("[pn]")) {
+                throw new BadRequestException("Invalid cursor");
+            }
+            CustomerSortField sort = CustomerSortField.fromProperty(parts[1]);
+            return new CustomerCursor(
+                    sort,
+                    "asc".equals(parts[2]),
+                    "p".equals(parts[3]),
+                    Long.valueOf(parts[4]),
+                    sort.parseKey(parts[5]));
+        } catch (BadRequestException e) {
+            throw e;
+        } catch (RuntimeException e) {
+            throw new BadRequestException("Invalid cursor", e);
+        }
+    }
+}
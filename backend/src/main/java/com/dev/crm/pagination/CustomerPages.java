@@ -0,0 +1,90 @@
+package com.dev.crm.pagination;
+
+import com.dev.crm.dto.CustomerPageDTO;
+import com.dev.crm.dto.CustomerSummaryDTO;
+import com.dev.crm.exception.BadRequestException;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Request parsing and page assembly for keyset-paginated customer listings,
+ * independent of how the rows are fetched
+ */
+public final class CustomerPages {
+
+    private CustomerPages() {
+    }
+
+    /**
+     * Position to read from: the decoded cursor, or the first page of the requested sort
+     */
+    public static CustomerCursor position(String cursor, String sort, String direction) {
+        return cursor != null && !cursor.isBlank()
+            ? CustomerCursor.decode(cursor)
+            : CustomerCursor.first(CustomerSortField.fromProperty(sort), !"desc".equalsIgnoreCase(direction));
+    }
+
+    public static int pageSize(Integer size, int defaultSize, int maxSize) {
+        if (size == null) {
+            return defaultSize;
+        }
+        if (size < 1) {
+            throw new BadRequestException("Page size must be positive");
+        }
+        return Math.min(size, maxSize);
+    }
+
+    /**
+     * Build the page from rows fetched in scan order with a limit of pageSize + 1;
+     * the extra row only tells whether another page exists in the scan direction
+     */
+    public static CustomerPageDTO<CustomerSummaryDTO> toPage(CustomerCursor position,
+                                                             List<CustomerSummaryDTO> fetched, int pageSize) {
+        CustomerSortField sort = position.sort();
+        return toPage(position, fetched, pageSize, CustomerSummaryDTO::getId, sort::keyOf);
+    }
+
+    /**
+     * Same as above for any row type, given how to read a row's id and sort key
+     */
+    public static <T> CustomerPageDTO<T> toPage(CustomerCursor position, List<T> fetched, int pageSize,
+                                                Function<T, Long> idOf, Function<T, Object> keyOf) {
+        List<T> rows = new ArrayList<>(fetched);
+        boolean hasMore = rows.size() > pageSize;
+        if (hasMore) {
+            rows.remove(rows.size() - 1);
+        }
+        if (position.backward()) {
+            Collections.reverse(rows);
+        }
+
+        String next = null;
+        String prev = null;
+        if (!rows.isEmpty()) {
+            T firstRow = rows.get(0);
+            T lastRow = rows.get(rows.size() - 1);
+            boolean hasNext = position.backward() || hasMore;
+            boolean hasPrev = position.backward() ? hasMore : !position.isFirst();
+            if (hasNext) {
+                next = CustomerCursor.after(position.sort(), position.ascending(),
+                    idOf.apply(lastRow), keyOf.apply(lastRow)).encode();
+            }
+            if (hasPrev) {
+                prev = CustomerCursor.before(position.sort(), position.ascending(),
+                    idOf.apply(firstRow), keyOf.apply(firstRow)).encode();
+            }
+        }
+
+        return new CustomerPageDTO<>(
+            rows,
+            rows.size(),
+            position.sort().getProperty(),
+            position.ascending() ? "asc" : "desc",
+            next,
+            prev
+        );
+    }
+}
@@ -0,0 +1,91 @@
+package com.dev.crm.pagination;
+
+import com.dev.crm.dto.CustomerSummaryDTO;
+import com.dev.crm.exception.BadRequestException;
+
+import java.time.LocalDateTime;
+
+/**
+ * Sort keys supported by keyset pagination on customers.
+ * Every key is combined with id as a tie-breaker so the ordering is total and stable.
+ */
+public enum CustomerSortField {
+
+    ID("id") {
+        @Override
+        public Object keyOf(CustomerSummaryDTO customer) {
+            return customer.getId();
+        }
+
+        @Override
+        public Object parseKey(String raw) {
+            return Long.valueOf(raw);
+        }
+    },
+
+    CREATED_AT("createdAt") {
+        @Override
+        public Object keyOf(CustomerSummaryDTO customer) {
+            return customer.getCreatedAt();
+        }
+
+        @Override
+        public Object parseKey(String raw) {
+            return LocalDateTime.parse(raw);
+        }
+    },
+
+    LAST_NAME("lastName") {
+        @Override
+        public Object keyOf(CustomerSummaryDTO customer) {
+            return customer.getLastName();
+        }
+
+        @Override
+        public Object parseKey(String raw) {
+            return raw;
+        }
+    };
+
+    private final String property;
+
+    CustomerSortField(String property) {
+        this.property = property;
+    }
+
+    /**
+     * Entity property name used in JPQL and as the request parameter value
+     */
+    public String getProperty() {
+        return property;
+    }
+
+    /**
+     * Extract the sort key value of the given row
+     */
+    public abstract Object keyOf(CustomerSummaryDTO customer);
+
+    /**
+     * Parse a sort key value previously written into a cursor
+     */
+    public abstract Object parseKey(String raw);
+
+    /**
+     * Whether the sort key is the id itself, so no separate tie-breaker is needed
+     */
+    public boolean isId() {
+        return this == ID;
+    }
+
+    public static CustomerSortField fromProperty(String property) {
+        if (property == null || property.isBlank()) {
+            return ID;
+        }
+        for (CustomerSortField field : values()) {
+            if (field.property.equalsIgnoreCase(property)) {
+                return field;
+            }
+        }
+        throw new BadRequestException("Unsupported sort field: " + property);
+    }
+}
@@ -0,0 +1,70 @@
+package com.dev.crm.projection;
+
+import com.dev.crm.dto.CustomerDTO;
+import com.dev.crm.exception.BadRequestException;
+
+import java.util.EnumSet;
+import java.util.Set;
+import java.util.function.Function;
+
+/**
+ * Customer fields a client may select with fields=; the whitelist for sparse fieldsets.
+ * The property name is both the JSON field name and the entity property used in JPQL.
+ */
+public enum CustomerField {
+
+    ID("id", CustomerDTO::getId),
+    FIRST_NAME("firstName", CustomerDTO::getFirstName),
+    LAST_NAME("lastName", CustomerDTO::getLastName),
+    EMAIL("email", CustomerDTO::getEmail),
+    PHONE_NUMBER("phoneNumber", CustomerDTO::getPhoneNumber),
+    COMPANY_NAME("companyName", CustomerDTO::getCompanyName),
+    NOTES("notes", CustomerDTO::getNotes),
+    CREATED_AT("createdAt", CustomerDTO::getCreatedAt),
+    UPDATED_AT("updatedAt", CustomerDTO::getUpdatedAt);
+
+    private final String property;
+    private final Function<CustomerDTO, Object> accessor;
+
+    CustomerField(String property, Function<CustomerDTO, Object> accessor) {
+        this.property = property;
+        this.accessor = accessor;
+    }
+
+    public String getProperty() {
+        return property;
+    }
+
+    /**
+     * Value of this field in an already loaded customer
+     */
+    public Object valueOf(CustomerDTO customer) {
+        return accessor.apply(customer);
+    }
+
+    public static CustomerField fromProperty(String property) {
+        for (CustomerField field : values()) {
+            if (field.property.equalsIgnoreCase(property)) {
+                return field;
+            }
+        }
+        throw new BadRequestException("Unsupported field: " + property);
+    }
+
+    /**
+     * Parse a comma-separated fields parameter; null when absent (all fields).
+     * id is always included so rows stay addressable.
+     */
+    public static Set<CustomerField> parse(String fields) {
+        if (fields == null || fields.isBlank()) {
+            return null;
+        }
+        Set<CustomerField> parsed = EnumSet.of(ID);
+        for (String property : fields.split(",")) {
+            if (!property.isBlank()) {
+                parsed.add(fromProperty(property.trim()));
+            }
+        }
+        return parsed;
+    }
+}
@@ -0,0 +1,45 @@
+package com.dev.crm.repository;
+
+import com.dev.crm.entity.CustomerChange;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface CustomerChangeRepository extends JpaRepository<CustomerChange, Long>, CustomerChangeRepositoryCustom {
+
+    /**
+     * Changes after the given one, for clients resuming from Last-Event-ID
+     */
+    List<CustomerChange> findByIdGreaterThanOrderById(Long id, Limit limit);
+
+    /**
+     * Changes after the given one or recorded after the given time, for replaying to a
+     * reconnecting subscriber including rows that committed late with a lower id
+     */
+    List<CustomerChange> findByIdGreaterThanOrChangedAtAfterOrderById(Long id, LocalDateTime since, Limit limit);
+
+    /**
+     * Latest outbox id, the watermark a freshly loaded client starts syncing from
+     */
+    @Query("select coalesce(max(c.id), 0) from CustomerChange c")
+    long findMaxId();
+
+    /**
+     * Id and change time of the rows recorded after the given time, for the feed poller's
+     * look-back; served by idx_customer_changes_changed_at and reads no payloads
+     */
+    @Query("select c.id, c.changedAt from CustomerChange c where c.changedAt > :since")
+    List<Object[]> findRecentIds(@Param("since") LocalDateTime since);
+
+    /**
+     * Highest outbox id removed by retention, 0 when nothing was ever purged
+     */
+    @Query("select coalesce(max(p.purgedThrough), 0) from CustomerChangePurge p")
+    long findPurgedThrough();
+}
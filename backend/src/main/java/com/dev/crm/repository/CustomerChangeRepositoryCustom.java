@@ -0,0 +1,23 @@
+package com.dev.crm.repository;
+
+import com.dev.crm.entity.CustomerChange;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+public interface CustomerChangeRepositoryCustom {
+
+    /**
+     * Insert outbox rows with one JDBC batch on the current transaction's connection.
+     * Ids come from customer_changes_seq in the statement; the given objects are not updated.
+     */
+    void insertAll(List<CustomerChange> changes);
+
+    /**
+     * Drop changes older than the cutoff as an id prefix (every id up to the newest expired one)
+     * and record that id in customer_change_purges; returns the number of deleted rows
+     */
+    @Transactional
+    int purgeOlderThan(LocalDateTime cutoff);
+}
@@ -0,0 +1,56 @@
+package com.dev.crm.repository;
+
+import com.dev.crm.entity.CustomerChange;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.LocalDateTime;
+import java.util.List;
+
+public class CustomerChangeRepositoryImpl implements CustomerChangeRepositoryCustom {
+
+    private static final String INSERT =
+        "INSERT INTO customer_changes (id, customer_id, change_type, payload, changed_at) " +
+        "VALUES (customer_changes_seq.NEXTVAL, ?, ?, ?, ?)";
+
+    private static final String MERGE_PURGED_THROUGH =
+        "MERGE INTO customer_change_purges p " +
+        "USING (SELECT 1 AS id, ? AS purged_through FROM dual) s " +
+        "ON (p.id = s.id) " +
+        "WHEN MATCHED THEN UPDATE SET p.purged_through = GREATEST(p.purged_through, s.purged_through) " +
+        "WHEN NOT MATCHED THEN INSERT (id, purged_through) VALUES (s.id, s.purged_through)";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public CustomerChangeRepositoryImpl(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @Override
+    public void insertAll(List<CustomerChange> changes) {
+        jdbcTemplate.batchUpdate(INSERT, changes, changes.size(), (ps, change) -> {
+            ps.setLong(1, change.getCustomerId());
+            ps.setString(2, change.getType().name());
+            if (change.getPayload() == null) {
+                ps.setNull(3, Types.CLOB);
+            } else {
+                ps.setString(3, change.getPayload());
+            }
+            ps.setTimestamp(4, Timestamp.valueOf(change.getChangedAt()));
+        });
+    }
+
+    @Override
+    public int purgeOlderThan(LocalDateTime cutoff) {
+        Long purgedThrough = jdbcTemplate.queryForObject(
+            "SELECT MAX(id) FROM customer_changes WHERE changed_at < ?", Long.class, Timestamp.valueOf(cutoff));
+        if (purgedThrough == null) {
+            return 0;
+        }
+        // A prefix, so everything after the recorded id is still there
+        int deleted = jdbcTemplate.update("DELETE FROM customer_changes WHERE id <= ?", purgedThrough);
+        jdbcTemplate.update(MERGE_PURGED_THROUGH, purgedThrough);
+        return deleted;
+    }
+}
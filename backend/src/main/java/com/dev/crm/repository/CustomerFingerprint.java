@@ -0,0 +1,14 @@
+package com.dev.crm.repository;
+
+import java.time.LocalDateTime;
+
+/**
+ * Cheap summary of the whole customers table that changes whenever any row is
+ * created, updated or deleted. Used to validate cached collection responses.
+ */
+public interface CustomerFingerprint {
+
+    long getCount();
+
+    LocalDateTime getLastUpdatedAt();
+}
@@ -1,13 +1,22 @@
 package com.dev.crm.repository;
 
+import com.dev.crm.dto.CustomerDTO;
 import com.dev.crm.entity.Customer;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 
+// Read-only by default so standalone query calls (e.g. cache loads) are routed to a read replica
 @Repository
-public interface CustomerRepository extends JpaRepository<Customer, Long> {
+@Transactional(readOnly = true)
+public interface CustomerRepository extends JpaRepository<Customer, Long>, CustomerRepositoryCustom {
 
     /**
      * Find customer by email
@@ -18,4 +27,53 @@ public interface CustomerRepository extends JpaRepository<Customer, Long> {
      * Check if customer exists by email
      */
     boolean existsByEmail(String email);
+
+    /**
+     * Which of the given emails are already used; one query for a whole chunk
+     * (callers keep the collection within Oracle's 1000-element IN list limit)
+     */
+    @Query("select c.email from Customer c where c.email in :emails")
+    Set<String> findExistingEmails(@Param("emails") Collection<String> emails);
+
+    /**
+     * Customers by email as DTOs built by the SELECT
+     * (callers keep the collection within Oracle's 1000-element IN list limit)
+     */
+    @Query("select new com.dev.crm.dto.CustomerDTO(" +
+           "c.id, c.firstName, c.lastName, c.email, c.phoneNumber, c.companyName, c.notes, c.createdAt, c.updatedAt) " +
+           "from Customer c where c.email in :emails")
+    List<CustomerDTO> findDTOsByEmailIn(@Param("emails") Collection<String> emails);
+
+    /**
+     * Row count and latest updatedAt of the whole table, for collection ETags
+     */
+    @Query("select count(c) as count, max(c.updatedAt) as lastUpdatedAt from Customer c")
+    CustomerFingerprint findFingerprint();
+
+    /**
+     * Cheapest possible statement, run first to fix a serializable transaction's snapshot
+     */
+    @Query(value = "SELECT 1 FROM dual", nativeQuery = true)
+    int startSnapshot();
+
+    /**
+     * Customer count per company name (null for customers without one), for statistics seeding
+     */
+    @Query("select c.companyName, count(c) from Customer c group by c.companyName")
+    List<Object[]> countByCompany();
+
+    /**
+     * Customer count per creation day, for statistics seeding
+     */
+    @Query("select extract(date from c.createdAt), count(c) from Customer c group by extract(date from c.createdAt)")
+    List<Object[]> countByCreatedDay();
+
+    /**
+     * Find customer by ID as a DTO built by the SELECT itself
+     * Skips entity materialization, dirty-checking snapshots and MapStruct
+     */
+    @Query("select new com.dev.crm.dto.CustomerDTO(" +
+           "c.id, c.firstName, c.lastName, c.email, c.phoneNumber, c.companyName, c.notes, c.createdAt, c.updatedAt) " +
+           "from Customer c where c.id = :id")
+    Optional<CustomerDTO> findDTOById(@Param("id") Long id);
 }
@@ -0,0 +1,59 @@
+package com.dev.crm.repository;
+
+import com.dev.crm.dto.CustomerCreateDTO;
+import com.dev.crm.dto.CustomerDTO;
+import com.dev.crm.dto.CustomerSummaryDTO;
+import com.dev.crm.entity.Customer;
+import com.dev.crm.pagination.CustomerCursor;
+import com.dev.crm.projection.CustomerField;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Stream;
+
+/**
+ * Custom customer queries that cannot be expressed as derived query methods
+ */
+public interface CustomerRepositoryCustom {
+
+    /**
+     * Keyset (seek) page: rows strictly after (or before) the cursor's boundary row,
+     * in scan order. Cost does not depend on how deep the page is.
+     * Rows are projected straight into summaries; no entities are managed.
+     */
+    List<CustomerSummaryDTO> findKeysetPage(CustomerCursor cursor, int limit);
+
+    /**
+     * Keyset page selecting only the given fields, each row a map from field name to value
+     * in field order; callers include the cursor's sort key so the page can be continued
+     */
+    List<Map<String, Object>> findKeysetPage(CustomerCursor cursor, int limit, Set<CustomerField> fields);
+
+    /**
+     * Customer by id selecting only the given fields
+     */
+    Optional<Map<String, Object>> findFieldsById(Long id, Set<CustomerField> fields);
+
+    /**
+     * Stream every customer in id order from a server-side cursor.
+     * Rows are loaded read-only, fetchSize at a time; must be consumed inside a
+     * transaction and closed afterwards.
+     */
+    Stream<Customer> streamAll(int fetchSize);
+
+    /**
+     * Upsert by email with one Oracle MERGE executed as a single JDBC batch (array DML).
+     * Bypasses the persistence context; callers must refresh anything derived from customers.
+     */
+    void mergeByEmail(List<CustomerCreateDTO> rows);
+
+    /**
+     * Delete customer by id, returning the deleted row; on Oracle in one round trip (DELETE ... RETURNING INTO),
+     * elsewhere as a locking read plus DELETE. Empty when the customer does not exist. Bypasses the persistence context.
+     */
+    @Transactional
+    Optional<CustomerDTO> deleteByIdReturning(Long id);
+}
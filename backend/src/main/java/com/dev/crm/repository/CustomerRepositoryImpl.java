@@ -0,0 +1,225 @@
+package com.dev.crm.repository;
+
+import com.dev.crm.dto.CustomerCreateDTO;
+import com.dev.crm.dto.CustomerDTO;
+import com.dev.crm.dto.CustomerSummaryDTO;
+import com.dev.crm.entity.Customer;
+import com.dev.crm.pagination.CustomerCursor;
+import com.dev.crm.pagination.CustomerSortField;
+import com.dev.crm.projection.CustomerField;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.Query;
+import jakarta.persistence.Tuple;
+import jakarta.persistence.TypedQuery;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.jdbc.core.CallableStatementCallback;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+public class CustomerRepositoryImpl implements CustomerRepositoryCustom {
+
+    private static final String SUMMARY_SELECT =
+        "select new com.dev.crm.dto.CustomerSummaryDTO(" +
+        "c.id, c.firstName, c.lastName, c.email, c.phoneNumber, c.companyName, c.createdAt, c.updatedAt) " +
+        "from Customer c";
+
+    private static final String MERGE_BY_EMAIL =
+        "MERGE INTO customers c " +
+        "USING (SELECT ? AS email, ? AS first_name, ? AS last_name, ? AS phone_number, " +
+        "? AS company_name, ? AS notes, ? AS changed_at FROM dual) s " +
+        "ON (c.email = s.email) " +
+        "WHEN MATCHED THEN UPDATE SET c.first_name = s.first_name, c.last_name = s.last_name, " +
+        "c.phone_number = s.phone_number, c.company_name = s.company_name, c.notes = s.notes, " +
+        "c.updated_at = s.changed_at, c.version = c.version + 1 " +
+        "WHEN NOT MATCHED THEN INSERT " +
+        "(id, email, first_name, last_name, phone_number, company_name, notes, created_at, updated_at, version) " +
+        "VALUES (customers_seq.NEXTVAL, s.email, s.first_name, s.last_name, s.phone_number, " +
+        "s.company_name, s.notes, s.changed_at, s.changed_at, 0)";
+
+    // A PL/SQL block so the returned columns come back as OUT parameters of the same call.
+    // RETURNING INTO leaves its variables undefined when no row matches; SQL%ROWCOUNT tells.
+    private static final String DELETE_RETURNING =
+        "BEGIN DELETE FROM customers WHERE id = ? " +
+        "RETURNING first_name, last_name, email, phone_number, company_name, notes, created_at, updated_at " +
+        "INTO ?, ?, ?, ?, ?, ?, ?, ?; ? := SQL%ROWCOUNT; END;";
+
+    private static final String CUSTOMER_COLUMNS =
+        "id, first_name, last_name, email, phone_number, company_name, notes, created_at, updated_at";
+
+    private final JdbcTemplate jdbcTemplate;
+    // Resolved from the connection metadata on first use
+    private volatile Boolean oracle;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    public CustomerRepositoryImpl(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @Override
+    public List<CustomerSummaryDTO> findKeysetPage(CustomerCursor cursor, int limit) {
+        TypedQuery<CustomerSummaryDTO> query =
+            entityManager.createQuery(SUMMARY_SELECT + keysetClauses(cursor), CustomerSummaryDTO.class);
+        bindKeyset(query, cursor);
+        return query.setMaxResults(limit).getResultList();
+    }
+
+    @Override
+    public List<Map<String, Object>> findKeysetPage(CustomerCursor cursor, int limit, Set<CustomerField> fields) {
+        TypedQuery<Tuple> query =
+            entityManager.createQuery(projection(fields) + keysetClauses(cursor), Tuple.class);
+        bindKeyset(query, cursor);
+        return query.setMaxResults(limit).getResultList().stream()
+            .map(tuple -> toMap(tuple, fields))
+            .toList();
+    }
+
+    @Override
+    public Optional<Map<String, Object>> findFieldsById(Long id, Set<CustomerField> fields) {
+        return entityManager.createQuery(projection(fields) + " where c.id = :id", Tuple.class)
+            .setParameter("id", id)
+            .getResultStream()
+            .findFirst()
+            .map(tuple -> toMap(tuple, fields));
+    }
+
+    /**
+     * Keyset predicate and ordering for the cursor, as JPQL appended to a select from Customer c
+     */
+    private static String keysetClauses(CustomerCursor cursor) {
+        CustomerSortField sort = cursor.sort();
+        String key = "c." + sort.getProperty();
+        String op = cursor.scanAscending() ? ">" : "<";
+        String order = cursor.scanAscending() ? "asc" : "desc";
+
+        StringBuilder jpql = new StringBuilder();
+        if (!cursor.isFirst()) {
+            if (sort.isId()) {
+                jpql.append(" where c.id ").append(op).append(" :id");
+            } else {
+                // Row-value comparison (key, id) > (:key, :id) spelled out for JPQL
+                jpql.append(" where ").append(key).append(' ').append(op).append(" :key")
+                    .append(" or (").append(key).append(" = :key and c.id ").append(op).append(" :id)");
+            }
+        }
+        jpql.append(" order by ");
+        if (!sort.isId()) {
+            jpql.append(key).append(' ').append(order).append(", ");
+        }
+        jpql.append("c.id ").append(order);
+        return jpql.toString();
+    }
+
+    private static void bindKeyset(Query query, CustomerCursor cursor) {
+        if (!cursor.isFirst()) {
+            query.setParameter("id", cursor.id());
+            if (!cursor.sort().isId()) {
+                query.setParameter("key", cursor.key());
+            }
+        }
+    }
+
+    // Only the requested columns are selected; property names come from the CustomerField whitelist
+    private static String projection(Set<CustomerField> fields) {
+        return fields.stream()
+            .map(field -> "c." + field.getProperty())
+            .collect(Collectors.joining(", ", "select ", " from Customer c"));
+    }
+
+    private static Map<String, Object> toMap(Tuple tuple, Set<CustomerField> fields) {
+        Map<String, Object> row = new LinkedHashMap<>();
+        int index = 0;
+        for (CustomerField field : fields) {
+            row.put(field.getProperty(), tuple.get(index++));
+        }
+        return row;
+    }
+
+    @Override
+    public Stream<Customer> streamAll(int fetchSize) {
+        return entityManager.createQuery("select c from Customer c order by c.id", Customer.class)
+            .setHint(HibernateHints.HINT_FETCH_SIZE, fetchSize)
+            .setHint(HibernateHints.HINT_READ_ONLY, true)
+            .getResultStream();
+    }
+
+    @Override
+    public void mergeByEmail(List<CustomerCreateDTO> rows) {
+        Timestamp changedAt = Timestamp.valueOf(LocalDateTime.now());
+        jdbcTemplate.batchUpdate(MERGE_BY_EMAIL, rows, rows.size(), (ps, row) -> {
+            ps.setString(1, row.getEmail());
+            ps.setString(2, row.getFirstName());
+            ps.setString(3, row.getLastName());
+            ps.setString(4, row.getPhoneNumber());
+            ps.setString(5, row.getCompanyName());
+            ps.setString(6, row.getNotes());
+            ps.setTimestamp(7, changedAt);
+        });
+    }
+
+    @Override
+    public Optional<CustomerDTO> deleteByIdReturning(Long id) {
+        return isOracle() ? deleteReturningOracle(id) : deleteReturningPortable(id);
+    }
+
+    private Optional<CustomerDTO> deleteReturningOracle(Long id) {
+        return jdbcTemplate.execute(DELETE_RETURNING, (CallableStatementCallback<Optional<CustomerDTO>>) call -> {
+            call.setLong(1, id);
+            for (int i = 2; i <= 7; i++) {
+                call.registerOutParameter(i, Types.VARCHAR);
+            }
+            call.registerOutParameter(8, Types.TIMESTAMP);
+            call.registerOutParameter(9, Types.TIMESTAMP);
+            call.registerOutParameter(10, Types.INTEGER);
+            call.execute();
+            if (call.getInt(10) == 0) {
+                return Optional.empty();
+            }
+            return Optional.of(new CustomerDTO(id, call.getString(2), call.getString(3), call.getString(4),
+                call.getString(5), call.getString(6), call.getString(7),
+                toLocalDateTime(call.getTimestamp(8)), toLocalDateTime(call.getTimestamp(9))));
+        });
+    }
+
+    // Databases without PL/SQL (H2 in the load test): lock and read the row, then delete it
+    private Optional<CustomerDTO> deleteReturningPortable(Long id) {
+        Optional<CustomerDTO> previous = jdbcTemplate.query(
+            "SELECT " + CUSTOMER_COLUMNS + " FROM customers WHERE id = ? FOR UPDATE",
+            (rs, rowNum) -> new CustomerDTO(rs.getLong(1), rs.getString(2), rs.getString(3), rs.getString(4),
+                rs.getString(5), rs.getString(6), rs.getString(7),
+                toLocalDateTime(rs.getTimestamp(8)), toLocalDateTime(rs.getTimestamp(9))),
+            id).stream().findFirst();
+        if (previous.isEmpty() || jdbcTemplate.update("DELETE FROM customers WHERE id = ?", id) == 0) {
+            return Optional.empty();
+        }
+        return previous;
+    }
+
+    private boolean isOracle() {
+        Boolean oracle = this.oracle;
+        if (oracle == null) {
+            String product = jdbcTemplate.execute((ConnectionCallback<String>) connection ->
+                connection.getMetaData().getDatabaseProductName());
+            oracle = product != null && product.startsWith("Oracle");
+            this.oracle = oracle;
+        }
+        return oracle;
+    }
+
+    private static LocalDateTime toLocalDateTime(Timestamp timestamp) {
+        return timestamp == null ? null : timestamp.toLocalDateTime();
+    }
+}
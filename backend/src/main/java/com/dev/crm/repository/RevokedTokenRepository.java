@@ -0,0 +1,30 @@
+package com.dev.crm.repository;
+
+import com.dev.crm.entity.RevokedToken;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface RevokedTokenRepository extends JpaRepository<RevokedToken, String> {
+
+    /**
+     * Revocations recorded after the given time, for the revocation poller
+     */
+    @Query("select t from RevokedToken t where t.revokedAt > :since and t.expiresAt > :now")
+    List<RevokedToken> findRevokedSince(@Param("since") LocalDateTime since, @Param("now") LocalDateTime now);
+
+    /**
+     * Drop revocations of tokens that have expired anyway; returns the number of deleted rows
+     */
+    @Modifying
+    @Transactional
+    @Query("delete from RevokedToken t where t.expiresAt < :cutoff")
+    int deleteExpired(@Param("cutoff") LocalDateTime cutoff);
+}
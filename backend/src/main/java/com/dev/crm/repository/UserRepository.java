@@ -2,9 +2,15 @@ package com.dev.crm.repository;
 
 import com.dev.crm.entity.User;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 
 @Repository
 public interface UserRepository extends JpaRepository<User, Long> {
@@ -16,4 +22,29 @@ public interface UserRepository extends JpaRepository<User, Long> {
     boolean existsByUsername(String username);
 
     boolean existsByEmail(String email);
+
+    /**
+     * Usernames of users holding this username or this email; one query for both registration checks
+     */
+    @Query("select u.username from User u where u.username = :username or u.email = :email")
+    List<String> findUsernamesByUsernameOrEmail(@Param("username") String username, @Param("email") String email);
+
+    /**
+     * Which of the given usernames are already taken; one query for a whole chunk
+     * (callers keep the collection within Oracle's 1000-element IN list limit)
+     */
+    @Query("select u.username from User u where u.username in :usernames")
+    Set<String> findExistingUsernames(@Param("usernames") Collection<String> usernames);
+
+    /**
+     * Which of the given emails are already in use; one query for a whole chunk
+     */
+    @Query("select u.email from User u where u.email in :emails")
+    Set<String> findExistingEmails(@Param("emails") Collection<String> emails);
+
+    /**
+     * Users changed after the given time, for token revocation; served by idx_users_updated_at
+     */
+    @Query("select u.id as id, u.tokenVersion as tokenVersion, u.updatedAt as updatedAt from User u where u.updatedAt > :since")
+    List<UserStatus> findStatusChangedSince(@Param("since") LocalDateTime since);
 }
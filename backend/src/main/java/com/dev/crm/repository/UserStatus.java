@@ -0,0 +1,15 @@
+package com.dev.crm.repository;
+
+import java.time.LocalDateTime;
+
+/**
+ * A user account's token version and when it last changed, for token revocation
+ */
+public interface UserStatus {
+
+    Long getId();
+
+    long getTokenVersion();
+
+    LocalDateTime getUpdatedAt();
+}
@@ -0,0 +1,265 @@
+package com.dev.crm.search;
+
+import com.dev.crm.dto.CustomerDTO;
+import com.dev.crm.dto.CustomerSummaryDTO;
+import com.dev.crm.entity.Customer;
+import com.dev.crm.event.CustomerChangedEvent;
+import com.dev.crm.mapper.CustomerMapper;
+import com.dev.crm.repository.CustomerRepository;
+import jakarta.persistence.EntityManager;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.stream.Stream;
+
+/**
+ * In-memory inverted index over customer name, email, company and notes.
+ * Every token is indexed in full and as edge n-grams (prefixes), so a query term
+ * matches whole words and word beginnings without LIKE '%x%' scans in Oracle.
+ * Built once at startup, then kept current from CustomerChangedEvent after commit.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class CustomerSearchIndex {
+
+    private static final int MIN_GRAM = 2;
+    private static final int MAX_GRAM = 15;
+    private static final float PREFIX_FACTOR = 0.5f;
+
+    private static final float NAME_WEIGHT = 3.0f;
+    private static final float COMPANY_WEIGHT = 2.0f;
+    private static final float EMAIL_WEIGHT = 2.0f;
+    private static final float NOTES_WEIGHT = 1.0f;
+
+    private final CustomerRepository customerRepository;
+    private final CustomerMapper customerMapper;
+    private final PlatformTransactionManager transactionManager;
+    private final EntityManager entityManager;
+
+    @Value("${app.customers.export.fetch-size:1000}")
+    private int fetchSize;
+
+    // term -> (customer id -> weight)
+    private final Map<String, Map<Long, Float>> postings = new HashMap<>();
+    private final Map<Long, IndexedCustomer> documents = new HashMap<>();
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    // Ids changed by live events while the startup build is running; the build must not overwrite them.
+    // Marked and checked under the write lock, together with the index update they guard
+    private final Set<Long> changedDuringBuild = ConcurrentHashMap.newKeySet();
+    private volatile boolean building;
+
+    private record IndexedCustomer(CustomerSummaryDTO summary, Map<String, Float> terms) {
+    }
+
+    private record Hit(CustomerSummaryDTO summary, float score) {
+    }
+
+    /**
+     * Load every customer into the index once the application is up
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        building = true;
+        changedDuringBuild.clear();
+        long start = System.nanoTime();
+        TransactionTemplate readOnly = new TransactionTemplate(transactionManager);
+        readOnly.setReadOnly(true);
+        try {
+            Integer count = readOnly.execute(status -> {
+                int indexed = 0;
+                int read = 0;
+                try (Stream<Customer> customers = customerRepository.streamAll(fetchSize)) {
+                    for (Customer customer : (Iterable<Customer>) customers::iterator) {
+                        IndexedCustomer document = document(customerMapper.toDTO(customer));
+                        lock.writeLock().lock();
+                        try {
+                            // A live event may have replaced or removed this row since it was read
+                            if (!changedDuringBuild.contains(customer.getId())) {
+                                index(customer.getId(), document);
+                                indexed++;
+                            }
+                        } finally {
+                            lock.writeLock().unlock();
+                        }
+                        // Read-only rows are not needed once indexed; keep the persistence context to one batch
+                        if (++read % fetchSize == 0) {
+                            entityManager.clear();
+                        }
+                    }
+                }
+                return indexed;
+            });
+            log.info("Customer search index built with {} customers in {} ms",
+                count, (System.nanoTime() - start) / 1_000_000);
+        } finally {
+            building = false;
+        }
+    }
+
+    @TransactionalEventListener
+    public void onCustomerChanged(CustomerChangedEvent event) {
+        IndexedCustomer document = event.type() == CustomerChangedEvent.Type.DELETED
+            ? null : document(event.customer());
+        lock.writeLock().lock();
+        try {
+            if (building) {
+                changedDuringBuild.add(event.id());
+            }
+            if (document == null) {
+                unindex(event.id());
+            } else {
+                index(event.id(), document);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Ranked search; every query term must match a word or word prefix in some field
+     */
+    public List<CustomerSummaryDTO> search(String query, int limit) {
+        Set<String> terms = new LinkedHashSet<>();
+        for (String token : SearchTokenizer.tokenize(query)) {
+            if (token.length() >= MIN_GRAM) {
+                terms.add(token);
+            }
+        }
+        if (terms.isEmpty() || limit < 1) {
+            return List.of();
+        }
+
+        lock.readLock().lock();
+        try {
+            List<Map<Long, Float>> lists = new ArrayList<>(terms.size());
+            for (String term : terms) {
+                Map<Long, Float> list = postingsFor(term);
+                if (list == null) {
+                    return List.of();
+                }
+                lists.add(list);
+            }
+            // Drive the intersection from the rarest term
+            lists.sort(Comparator.comparingInt(Map::size));
+
+            PriorityQueue<Hit> top = new PriorityQueue<>(limit + 1,
+                Comparator.comparingDouble(Hit::score).thenComparingLong(hit -> -hit.summary().getId()));
+            candidates:
+            for (Map.Entry<Long, Float> candidate : lists.get(0).entrySet()) {
+                float score = candidate.getValue();
+                for (int i = 1; i < lists.size(); i++) {
+                    Float weight = lists.get(i).get(candidate.getKey());
+                    if (weight == null) {
+                        continue candidates;
+                    }
+                    score += weight;
+                }
+                top.add(new Hit(documents.get(candidate.getKey()).summary(), score));
+                if (top.size() > limit) {
+                    top.poll();
+                }
+            }
+
+            List<CustomerSummaryDTO> results = new ArrayList<>(top.size());
+            while (!top.isEmpty()) {
+                results.add(top.poll().summary());
+            }
+            Collections.reverse(results);
+            return results;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return documents.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private Map<Long, Float> postingsFor(String term) {
+        Map<Long, Float> list = postings.get(term);
+        if (list == null && term.length() > MAX_GRAM) {
+            // Long words are only indexed in full and up to MAX_GRAM prefix characters
+            list = postings.get(term.substring(0, MAX_GRAM));
+        }
+        return list;
+    }
+
+    // Tokenizing needs no lock; only index() and unindex() touch the shared maps
+    private IndexedCustomer document(CustomerDTO customer) {
+        Map<String, Float> terms = new HashMap<>();
+        addField(terms, customer.getFirstName(), NAME_WEIGHT);
+        addField(terms, customer.getLastName(), NAME_WEIGHT);
+        addField(terms, customer.getCompanyName(), COMPANY_WEIGHT);
+        addField(terms, customer.getEmail(), EMAIL_WEIGHT);
+        addField(terms, customer.getNotes(), NOTES_WEIGHT);
+        return new IndexedCustomer(customerMapper.toSummary(customer), terms);
+    }
+
+    // Caller holds the write lock
+    private void index(Long id, IndexedCustomer document) {
+        IndexedCustomer previous = documents.put(id, document);
+        if (previous != null) {
+            unlink(id, previous);
+        }
+        document.terms().forEach((term, weight) ->
+            postings.computeIfAbsent(term, key -> new HashMap<>()).put(id, weight));
+    }
+
+    // Caller holds the write lock
+    private void unindex(Long id) {
+        IndexedCustomer previous = documents.remove(id);
+        if (previous != null) {
+            unlink(id, previous);
+        }
+    }
+
+    private void unlink(Long id, IndexedCustomer document) {
+        for (String term : document.terms().keySet()) {
+            Map<Long, Float> list = postings.get(term);
+            if (list != null) {
+                list.remove(id);
+                if (list.isEmpty()) {
+                    postings.remove(term);
+                }
+            }
+        }
+    }
+
+    private static void addField(Map<String, Float> terms, String value, float weight) {
+        for (String token : SearchTokenizer.tokenize(value)) {
+            terms.merge(token, weight, Math::max);
+            int maxPrefix = Math.min(MAX_GRAM, token.length() - 1);
+            for (int length = MIN_GRAM; length <= maxPrefix; length++) {
+                // Longer prefixes are closer to the whole word and rank higher
+                float prefixWeight = weight * PREFIX_FACTOR * length / token.length();
+                terms.merge(token.substring(0, length), prefixWeight, Math::max);
+            }
+        }
+    }
+}
@@ -0,0 +1,64 @@
+package com.dev.crm.security;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Lock-free Bloom filter with double hashing over a 64-bit FNV-1a hash
+ * Shared by the servlet and reactive token revocation checks.
+ */
+public final class BloomFilter {
+
+    private static final int HASHES = 4;
+
+    private final AtomicLongArray words;
+    private final int mask;
+
+    /**
+     * @param bits filter size, rounded up to a power of two (at least 64)
+     */
+    public BloomFilter(int bits) {
+        int size = Integer.highestOneBit(Math.max(64, bits - 1)) << 1;
+        this.words = new AtomicLongArray(size / 64);
+        this.mask = size - 1;
+    }
+
+    public void add(String value) {
+        long h1 = hash(value);
+        long h2 = mix(h1);
+        for (int i = 0; i < HASHES; i++) {
+            int bit = (int) ((h1 + i * h2) & mask);
+            long word;
+            do {
+                word = words.get(bit >>> 6);
+            } while (!words.compareAndSet(bit >>> 6, word, word | (1L << bit)));
+        }
+    }
+
+    public boolean mightContain(String value) {
+        long h1 = hash(value);
+        long h2 = mix(h1);
+        for (int i = 0; i < HASHES; i++) {
+            int bit = (int) ((h1 + i * h2) & mask);
+            if ((words.get(bit >>> 6) & (1L << bit)) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static long hash(String value) {
+        long hash = 0xcbf29ce484222325L;
+        for (int i = 0; i < value.length(); i++) {
+            hash ^= value.charAt(i);
+            hash *= 0x100000001b3L;
+        }
+        return hash;
+    }
+
+    // SplitMix64 finalizer, forced odd so the probe sequence never collapses
+    private static long mix(long value) {
+        value = (value ^ (value >>> 30)) * 0xbf58476d1ce4e5b9L;
+        value = (value ^ (value >>> 27)) * 0x94d049bb133111ebL;
+        return (value ^ (value >>> 31)) | 1L;
+    }
+}
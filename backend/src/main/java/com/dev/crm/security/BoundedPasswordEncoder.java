@@ -0,0 +1,158 @@
+package com.dev.crm.security;
+
+import com.dev.crm.exception.TooManyRequestsException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * BCrypt on a dedicated, bounded pool so a login storm cannot take every core from the API.
+ * Callers block for their hash (Tomcat platform threads by default, virtual threads when
+ * spring.threads.virtual.enabled is set), so they must not hold a database connection meanwhile;
+ * when the queue is full or the wait exceeds the timeout the attempt is shed with a 429.
+ * upgradeEncoding reports hashes below the configured cost, so DaoAuthenticationProvider
+ * rehashes them on the next successful login.
+ */
+public class BoundedPasswordEncoder implements PasswordEncoder, AutoCloseable {
+
+    private final BCryptPasswordEncoder delegate;
+    private final ThreadPoolExecutor executor;
+    private final long timeoutMs;
+    private final int bulkParallelism;
+    private final Timer encodeTimer;
+    private final Timer matchesTimer;
+    private final Counter shed;
+
+    public BoundedPasswordEncoder(int strength, int threads, int queueCapacity, long timeoutMs,
+                                  MeterRegistry meterRegistry) {
+        this.delegate = new BCryptPasswordEncoder(strength);
+        // Bulk work never takes every hashing thread, so logins keep being served alongside it
+        this.bulkParallelism = Math.max(1, threads / 2);
+        this.executor = new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+            new ArrayBlockingQueue<>(queueCapacity), runnable -> new Thread(runnable, "password-hash"),
+            new ThreadPoolExecutor.AbortPolicy());
+        this.timeoutMs = timeoutMs;
+        // BCrypt time on the pool thread; queueing shows up in the queue gauge and the request latency
+        this.encodeTimer = hashTimer(meterRegistry, "encode");
+        this.matchesTimer = hashTimer(meterRegistry, "matches");
+        this.shed = Counter.builder("crm.password.shed")
+            .description("Password hashing requests refused because the pool was saturated")
+            .register(meterRegistry);
+        Gauge.builder("crm.password.queue", executor, pool -> pool.getQueue().size())
+            .description("Password hashing tasks waiting for a thread")
+            .register(meterRegistry);
+        Gauge.builder("crm.password.active", executor, ThreadPoolExecutor::getActiveCount)
+            .description("Password hashing threads busy")
+            .register(meterRegistry);
+    }
+
+    private static Timer hashTimer(MeterRegistry meterRegistry, String operation) {
+        return Timer.builder("crm.password.hash")
+            .description("BCrypt work per operation")
+            .tag("operation", operation)
+            .publishPercentileHistogram()
+            .register(meterRegistry);
+    }
+
+    @Override
+    public String encode(CharSequence rawPassword) {
+        return run(() -> encodeTimer.recordCallable(() -> delegate.encode(rawPassword)));
+    }
+
+    /**
+     * Hash many passwords in parallel on part of the pool, results in input order
+     * Meant for admin bulk work: it waits as long as it takes instead of shedding
+     */
+    public List<String> encodeAll(List<? extends CharSequence> rawPasswords) {
+        String[] encoded = new String[rawPasswords.size()];
+        AtomicInteger next = new AtomicInteger();
+        Runnable worker = () -> {
+            int i;
+            while ((i = next.getAndIncrement()) < encoded.length) {
+                long start = System.nanoTime();
+                encoded[i] = delegate.encode(rawPasswords.get(i));
+                encodeTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            }
+        };
+        List<Future<?>> workers = new ArrayList<>();
+        try {
+            for (int i = 0; i < Math.min(bulkParallelism, encoded.length); i++) {
+                workers.add(executor.submit(worker));
+            }
+        } catch (RejectedExecutionException e) {
+            if (workers.isEmpty()) {
+                throw new TooManyRequestsException("Password hashing is saturated, retry later");
+            }
+            // Fewer workers than planned; the ones queued will still hash everything
+        }
+        try {
+            for (Future<?> future : workers) {
+                future.get();
+            }
+        } catch (InterruptedException e) {
+            workers.forEach(future -> future.cancel(true));
+            Thread.currentThread().interrupt();
+            throw new TooManyRequestsException("Interrupted while waiting for password hashing");
+        } catch (ExecutionException e) {
+            workers.forEach(future -> future.cancel(true));
+            throw new IllegalStateException("Password hashing failed", e.getCause());
+        }
+        return List.of(encoded);
+    }
+
+    @Override
+    public boolean matches(CharSequence rawPassword, String encodedPassword) {
+        return run(() -> matchesTimer.recordCallable(() -> delegate.matches(rawPassword, encodedPassword)));
+    }
+
+    @Override
+    public boolean upgradeEncoding(String encodedPassword) {
+        return delegate.upgradeEncoding(encodedPassword);
+    }
+
+    private <T> T run(Callable<T> task) {
+        Future<T> future;
+        try {
+            future = executor.submit(task);
+        } catch (RejectedExecutionException e) {
+            shed.increment();
+            throw new TooManyRequestsException("Too many authentication requests, retry later");
+        }
+        try {
+            return future.get(timeoutMs, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            future.cancel(true);
+            shed.increment();
+            throw new TooManyRequestsException("Too many authentication requests, retry later");
+        } catch (InterruptedException e) {
+            future.cancel(true);
+            Thread.currentThread().interrupt();
+            throw new TooManyRequestsException("Interrupted while waiting for password hashing");
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException runtime) {
+                throw runtime;
+            }
+            throw new IllegalStateException(e.getCause());
+        }
+    }
+
+    @Override
+    public void close() {
+        executor.shutdownNow();
+    }
+}
@@ -0,0 +1,31 @@
+package com.dev.crm.security;
+
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Authenticated user as asserted by a verified token; built from claims without a database lookup
+ *
+ * @param id        user id
+ * @param username  username (token subject)
+ * @param role      granted role, e.g. ROLE_USER
+ * @param tokenId   jti of the access token, for revocation
+ * @param tokenVersion the account's token version when the token was issued
+ * @param issuedAt  when the token was issued, second precision
+ * @param expiresAt when the token expires, second precision
+ */
+public record JwtPrincipal(Long id, String username, String role, String tokenId, long tokenVersion,
+                           Instant issuedAt, Instant expiresAt) {
+
+    public List<GrantedAuthority> authorities() {
+        return List.of(new SimpleGrantedAuthority(role));
+    }
+
+    @Override
+    public String toString() {
+        return username;
+    }
+}
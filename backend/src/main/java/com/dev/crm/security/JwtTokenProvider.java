@@ -1,63 +1,182 @@
 package com.dev.crm.security;
 
+import com.dev.crm.entity.User;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
 import io.jsonwebtoken.*;
 import io.jsonwebtoken.security.Keys;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.core.Authentication;
+import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.stereotype.Component;
 
 import javax.crypto.SecretKey;
+import java.nio.ByteBuffer;
 import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.Instant;
 import java.util.Date;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
 
+/**
+ * Issues and verifies JWTs
+ * The signing key and parser are built once and shared (both are immutable and thread-safe).
+ * Verified tokens are cached by SHA-256 hash until their exp, so a client repeating the same
+ * bearer skips base64 decoding, JSON parsing and the HMAC check.
+ */
 @Component
 public class JwtTokenProvider {
 
-    @Value("${app.jwt.secret:MySecretKeyForJWTTokenGenerationThatIsAtLeast256BitsLongForHS256Algorithm}")
-    private String jwtSecret;
+    public static final String USER_ID_CLAIM = "uid";
+    public static final String ROLE_CLAIM = "role";
+    public static final String ENABLED_CLAIM = "enabled";
+    public static final String TOKEN_VERSION_CLAIM = "tv";
 
-    @Value("${app.jwt.expiration:86400000}") // 24 hours in milliseconds
-    private long jwtExpirationMs;
+    private final SecretKey signingKey;
+    private final JwtParser parser;
+    private final long jwtExpirationMs;
+    // SHA-256 of the token -> principal; the raw bearer is never kept in memory
+    private final Cache<ByteBuffer, Verified> verified;
+    // Registered once; recording is allocation-free
+    private final Timer cachedTimer;
+    private final Timer verifiedTimer;
+    private final Timer rejectedTimer;
 
-    private SecretKey getSigningKey() {
-        byte[] keyBytes = jwtSecret.getBytes(StandardCharsets.UTF_8);
-        return Keys.hmacShaKeyFor(keyBytes);
+    private record Verified(JwtPrincipal principal, Instant expiresAt) {
     }
 
+    public JwtTokenProvider(
+        @Value("${app.jwt.secret:MySecretKeyForJWTTokenGenerationThatIsAtLeast256BitsLongForHS256Algorithm}") String jwtSecret,
+        @Value("${app.jwt.expiration:900000}") long jwtExpirationMs, // 15 minutes in milliseconds
+        @Value("${app.jwt.cache.maximum-size:10000}") long cacheMaximumSize,
+        MeterRegistry meterRegistry
+    ) {
+        this.signingKey = Keys.hmacShaKeyFor(jwtSecret.getBytes(StandardCharsets.UTF_8));
+        this.parser = Jwts.parser().verifyWith(signingKey).build();
+        this.jwtExpirationMs = jwtExpirationMs;
+        this.verified = Caffeine.newBuilder()
+            .maximumSize(cacheMaximumSize)
+            .expireAfter(new Expiry<ByteBuffer, Verified>() {
+                @Override
+                public long expireAfterCreate(ByteBuffer hash, Verified entry, long currentTime) {
+                    return Math.max(0, Duration.between(Instant.now(), entry.expiresAt()).toNanos());
+                }
+
+                @Override
+                public long expireAfterUpdate(ByteBuffer hash, Verified entry, long currentTime, long currentDuration) {
+                    return expireAfterCreate(hash, entry, currentTime);
+                }
+
+                @Override
+                public long expireAfterRead(ByteBuffer hash, Verified entry, long currentTime, long currentDuration) {
+                    return currentDuration;
+                }
+            })
+            .recordStats()
+            .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, verified, "jwt.verified");
+        this.cachedTimer = verifyTimer(meterRegistry, "cached");
+        this.verifiedTimer = verifyTimer(meterRegistry, "verified");
+        this.rejectedTimer = verifyTimer(meterRegistry, "rejected");
+    }
+
+    private static Timer verifyTimer(MeterRegistry meterRegistry, String result) {
+        return Timer.builder("crm.jwt.verify")
+            .description("Bearer token verification, by outcome (cached = served from the verified-token cache)")
+            .tag("result", result)
+            .publishPercentileHistogram()
+            .register(meterRegistry);
+    }
+
+    public long getExpirationMs() {
+        return jwtExpirationMs;
+    }
+
+    /**
+     * Short-lived access token carrying everything the filter needs to authenticate a request:
+     * id, role, enabled flag and token version, plus a jti so it can be revoked before it expires
+     */
     public String generateToken(Authentication authentication) {
         UserDetails userDetails = (UserDetails) authentication.getPrincipal();
         Date now = new Date();
         Date expiryDate = new Date(now.getTime() + jwtExpirationMs);
 
+        String role = userDetails.getAuthorities().stream()
+                .map(GrantedAuthority::getAuthority)
+                .findFirst()
+                .orElse("ROLE_USER");
+
         return Jwts.builder()
+                .id(UUID.randomUUID().toString())
                 .subject(userDetails.getUsername())
+                .claim(USER_ID_CLAIM, userDetails instanceof User user ? user.getId() : null)
+                .claim(ROLE_CLAIM, role)
+                .claim(ENABLED_CLAIM, userDetails.isEnabled())
+                .claim(TOKEN_VERSION_CLAIM, userDetails instanceof User user ? user.getTokenVersion() : null)
                 .issuedAt(now)
                 .expiration(expiryDate)
-                .signWith(getSigningKey())
+                .signWith(signingKey)
                 .compact();
     }
 
-    public String getUsernameFromToken(String token) {
-        Claims claims = Jwts.parser()
-                .verifyWith(getSigningKey())
-                .build()
-                .parseSignedClaims(token)
-                .getPayload();
+    /**
+     * Verify the token and read the user from its claims, from the cache when seen before
+     * Returns null for invalid or expired tokens, and for tokens without the user claims or jti
+     * (issued before they were added) or issued to a disabled account
+     */
+    public JwtPrincipal getPrincipalFromToken(String token) {
+        long start = System.nanoTime();
+        ByteBuffer hash = sha256(token);
+        Verified entry = verified.getIfPresent(hash);
+        if (entry != null) {
+            // Caffeine expires lazily; never honour a token past its exp
+            JwtPrincipal principal = entry.expiresAt().isAfter(Instant.now()) ? entry.principal() : null;
+            (principal != null ? cachedTimer : rejectedTimer).record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            return principal;
+        }
 
-        return claims.getSubject();
+        Claims claims = verify(token);
+        Long id = claims == null ? null : claims.get(USER_ID_CLAIM, Long.class);
+        String role = claims == null ? null : claims.get(ROLE_CLAIM, String.class);
+        Long tokenVersion = claims == null ? null : claims.get(TOKEN_VERSION_CLAIM, Long.class);
+        if (id == null || role == null || tokenVersion == null || claims.getId() == null
+                || claims.getIssuedAt() == null || claims.getExpiration() == null
+                || !Boolean.TRUE.equals(claims.get(ENABLED_CLAIM, Boolean.class))) {
+            rejectedTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            return null;
+        }
+        JwtPrincipal principal = new JwtPrincipal(id, claims.getSubject(), role, claims.getId(), tokenVersion,
+                claims.getIssuedAt().toInstant(), claims.getExpiration().toInstant());
+        verified.put(hash, new Verified(principal, claims.getExpiration().toInstant()));
+        verifiedTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        return principal;
     }
 
-    public boolean validateToken(String authToken) {
+    /**
+     * Check signature and expiry in a single parse; null when the token is not valid
+     */
+    public Claims verify(String token) {
         try {
-            Jwts.parser()
-                    .verifyWith(getSigningKey())
-                    .build()
-                    .parseSignedClaims(authToken);
-            return true;
+            return parser.parseSignedClaims(token).getPayload();
         } catch (JwtException | IllegalArgumentException e) {
-            // Log the exception in production
-            return false;
+            return null;
+        }
+    }
+
+    private static ByteBuffer sha256(String token) {
+        try {
+            return ByteBuffer.wrap(MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.US_ASCII)));
+        } catch (NoSuchAlgorithmException e) {
+            // Every Java platform is required to provide SHA-256
+            throw new IllegalStateException(e);
         }
     }
 }
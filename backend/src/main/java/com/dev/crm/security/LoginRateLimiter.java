@@ -0,0 +1,92 @@
+package com.dev.crm.security;
+
+import com.dev.crm.exception.TooManyRequestsException;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Locale;
+
+/**
+ * Token buckets per username and per client address for login and registration.
+ * Checked before any password hashing, so brute-force and credential-stuffing traffic
+ * is refused for the price of a map lookup. Idle buckets expire once they would be full again.
+ */
+@Component
+public class LoginRateLimiter {
+
+    private final Cache<String, TokenBucket> usernameBuckets;
+    private final Cache<String, TokenBucket> addressBuckets;
+    private final int usernameCapacity;
+    private final double usernameRefillPerNano;
+    private final int addressCapacity;
+    private final double addressRefillPerNano;
+
+    public LoginRateLimiter(
+        @Value("${app.security.login.username.capacity:5}") int usernameCapacity,
+        @Value("${app.security.login.username.refill-per-minute:5}") int usernameRefillPerMinute,
+        @Value("${app.security.login.address.capacity:20}") int addressCapacity,
+        @Value("${app.security.login.address.refill-per-minute:20}") int addressRefillPerMinute,
+        @Value("${app.security.login.maximum-tracked:100000}") long maximumTracked
+    ) {
+        this.usernameCapacity = usernameCapacity;
+        this.usernameRefillPerNano = usernameRefillPerMinute / (double) Duration.ofMinutes(1).toNanos();
+        this.addressCapacity = addressCapacity;
+        this.addressRefillPerNano = addressRefillPerMinute / (double) Duration.ofMinutes(1).toNanos();
+        this.usernameBuckets = buckets(maximumTracked, usernameCapacity, usernameRefillPerMinute);
+        this.addressBuckets = buckets(maximumTracked, addressCapacity, addressRefillPerMinute);
+    }
+
+    private static Cache<String, TokenBucket> buckets(long maximumSize, int capacity, int refillPerMinute) {
+        // An untouched bucket is full again after capacity / rate, so forgetting it changes nothing
+        long idleSeconds = Math.max(1, (long) Math.ceil(60.0 * capacity / Math.max(1, refillPerMinute)));
+        return Caffeine.newBuilder()
+            .maximumSize(maximumSize)
+            .expireAfterAccess(Duration.ofSeconds(idleSeconds))
+            .build();
+    }
+
+    /**
+     * Take one attempt from the client address bucket, and from the username bucket when given
+     */
+    public void checkAttempt(String address, String username) {
+        if (address != null && !take(addressBuckets, address, addressCapacity, addressRefillPerNano)) {
+            throw new TooManyRequestsException("Too many authentication attempts from this address, retry later");
+        }
+        if (username != null
+            && !take(usernameBuckets, username.toLowerCase(Locale.ROOT), usernameCapacity, usernameRefillPerNano)) {
+            throw new TooManyRequestsException("Too many authentication attempts for this user, retry later");
+        }
+    }
+
+    private static boolean take(Cache<String, TokenBucket> buckets, String key, int capacity, double refillPerNano) {
+        return buckets.get(key, k -> new TokenBucket(capacity, refillPerNano)).tryTake();
+    }
+
+    private static final class TokenBucket {
+
+        private final int capacity;
+        private final double refillPerNano;
+        private double tokens;
+        private long refilledAt = System.nanoTime();
+
+        TokenBucket(int capacity, double refillPerNano) {
+            this.capacity = capacity;
+            this.refillPerNano = refillPerNano;
+            this.tokens = capacity;
+        }
+
+        synchronized boolean tryTake() {
+            long now = System.nanoTime();
+            tokens = Math.min(capacity, tokens + (now - refilledAt) * refillPerNano);
+            refilledAt = now;
+            if (tokens < 1) {
+                return false;
+            }
+            tokens--;
+            return true;
+        }
+    }
+}
@@ -0,0 +1,138 @@
+package com.dev.crm.security;
+
+import com.dev.crm.entity.RevokedToken;
+import com.dev.crm.repository.RefreshTokenRepository;
+import com.dev.crm.repository.RevokedTokenRepository;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Revoked access token ids (jti) as time-bucketed Bloom filters.
+ * A token only needs to be remembered until it expires, so revocations are grouped by
+ * the token's expiry minute; a check probes the one bucket its exp falls into, and whole
+ * buckets are dropped once their tokens have expired. The revoked_tokens table shares
+ * revocations between instances and survives restarts; it is polled, never read per request.
+ * A false positive only sends that client through /api/auth/refresh for a new token.
+ */
+@Slf4j
+@Component
+public class TokenRevocations {
+
+    private final RevokedTokenRepository revokedTokenRepository;
+    private final RefreshTokenRepository refreshTokenRepository;
+    private final long tokenLifetimeMs;
+    private final ScheduledExecutorService poller;
+
+    @Value("${app.jwt.revocation.poll-seconds:5}")
+    private long pollSeconds;
+
+    @Value("${app.jwt.revocation.overlap-seconds:10}")
+    private long overlapSeconds;
+
+    @Value("${app.jwt.revocation.bucket-seconds:60}")
+    private long bucketSeconds;
+
+    // Per bucket; rounded up to a power of two
+    @Value("${app.jwt.revocation.bloom-bits:65536}")
+    private int bloomBits;
+
+    // expiry bucket number -> filter of the jtis expiring in it
+    private final Map<Long, BloomFilter> buckets = new ConcurrentHashMap<>();
+    private volatile LocalDateTime lastPoll;
+
+    public TokenRevocations(RevokedTokenRepository revokedTokenRepository,
+                            RefreshTokenRepository refreshTokenRepository,
+                            JwtTokenProvider tokenProvider) {
+        this.revokedTokenRepository = revokedTokenRepository;
+        this.refreshTokenRepository = refreshTokenRepository;
+        this.tokenLifetimeMs = tokenProvider.getExpirationMs();
+        this.poller = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "token-revocation-poller");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        lastPoll = LocalDateTime.now().minus(tokenLifetimeMs, ChronoUnit.MILLIS);
+        poll();
+        poller.scheduleWithFixedDelay(this::poll, pollSeconds, pollSeconds, TimeUnit.SECONDS);
+        poller.scheduleWithFixedDelay(this::purge, 1, 60, TimeUnit.MINUTES);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        poller.shutdownNow();
+    }
+
+    /**
+     * Whether this token was revoked; no allocation and no I/O
+     */
+    public boolean isRevoked(JwtPrincipal principal) {
+        BloomFilter filter = buckets.get(bucketOf(principal.expiresAt()));
+        return filter != null && filter.mightContain(principal.tokenId());
+    }
+
+    /**
+     * Revoke an access token before its expiry: effective here at once, elsewhere within a poll
+     */
+    public void revoke(JwtPrincipal principal) {
+        LocalDateTime now = LocalDateTime.now();
+        revokedTokenRepository.save(new RevokedToken(principal.tokenId(),
+            LocalDateTime.ofInstant(principal.expiresAt(), ZoneId.systemDefault()), now));
+        add(principal.tokenId(), principal.expiresAt());
+    }
+
+    private void add(String jti, Instant expiresAt) {
+        if (expiresAt.isAfter(Instant.now())) {
+            buckets.computeIfAbsent(bucketOf(expiresAt), bucket -> new BloomFilter(bloomBits)).add(jti);
+        }
+    }
+
+    private long bucketOf(Instant expiresAt) {
+        return expiresAt.getEpochSecond() / bucketSeconds;
+    }
+
+    private void poll() {
+        try {
+            LocalDateTime now = LocalDateTime.now();
+            List<RevokedToken> revoked = revokedTokenRepository.findRevokedSince(lastPoll.minusSeconds(overlapSeconds), now);
+            for (RevokedToken token : revoked) {
+                add(token.getJti(), token.getExpiresAt().atZone(ZoneId.systemDefault()).toInstant());
+            }
+            lastPoll = now;
+
+            long current = bucketOf(Instant.now());
+            buckets.keySet().removeIf(bucket -> bucket < current);
+        } catch (RuntimeException e) {
+            log.warn("Could not poll revoked tokens", e);
+        }
+    }
+
+    private void purge() {
+        try {
+            LocalDateTime now = LocalDateTime.now();
+            int revoked = revokedTokenRepository.deleteExpired(now);
+            int refresh = refreshTokenRepository.deleteExpired(now);
+            log.info("Purged {} expired token revocations and {} expired refresh tokens", revoked, refresh);
+        } catch (RuntimeException e) {
+            log.warn("Token purge failed", e);
+        }
+    }
+}
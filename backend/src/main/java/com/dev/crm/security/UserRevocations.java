@@ -0,0 +1,103 @@
+package com.dev.crm.security;
+
+import com.dev.crm.repository.UserRepository;
+import com.dev.crm.repository.UserStatus;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Revokes tokens of users whose account changed after the token was issued
+ * (disabled, role changed, password changed): such changes raise the user's token
+ * version, and a token carrying an older version is refused. A background poll reads
+ * the users updated since the last poll, so the cost is one small query per interval
+ * no matter how many requests are authenticated. Entries are kept only as long as a
+ * token issued before them could still be valid.
+ */
+@Slf4j
+@Component
+public class UserRevocations {
+
+    private final UserRepository userRepository;
+    private final long tokenLifetimeMs;
+    private final ScheduledExecutorService poller;
+
+    @Value("${app.jwt.revocation.poll-seconds:5}")
+    private long pollSeconds;
+
+    // Look back over the previous poll, so rows committed late with an earlier updated_at are still seen
+    @Value("${app.jwt.revocation.overlap-seconds:10}")
+    private long overlapSeconds;
+
+    // user id -> current token version and when the account last changed
+    private final Map<Long, Version> versions = new ConcurrentHashMap<>();
+    private volatile LocalDateTime lastPoll;
+
+    public UserRevocations(UserRepository userRepository, JwtTokenProvider tokenProvider) {
+        this.userRepository = userRepository;
+        this.tokenLifetimeMs = tokenProvider.getExpirationMs();
+        this.poller = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "user-revocation-poller");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        // Every change within one token lifetime could affect a token still in use
+        lastPoll = LocalDateTime.now().minus(tokenLifetimeMs, ChronoUnit.MILLIS);
+        poll();
+        poller.scheduleWithFixedDelay(this::poll, pollSeconds, pollSeconds, TimeUnit.SECONDS);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        poller.shutdownNow();
+    }
+
+    private record Version(long tokenVersion, Instant changedAt) {
+    }
+
+    /**
+     * Whether the account changed after this token was issued
+     */
+    public boolean isRevoked(JwtPrincipal principal) {
+        Version current = versions.get(principal.id());
+        return current != null && principal.tokenVersion() < current.tokenVersion();
+    }
+
+    private void poll() {
+        try {
+            LocalDateTime since = lastPoll;
+            LocalDateTime now = LocalDateTime.now();
+            List<UserStatus> changed = userRepository.findStatusChangedSince(since.minusSeconds(overlapSeconds));
+            for (UserStatus status : changed) {
+                Version version = new Version(status.getTokenVersion(),
+                    status.getUpdatedAt().atZone(ZoneId.systemDefault()).toInstant());
+                versions.merge(status.getId(), version, (a, b) -> a.tokenVersion() >= b.tokenVersion() ? a : b);
+            }
+            lastPoll = now;
+
+            // Tokens with an older version were issued before the change and have expired by now
+            Instant expired = Instant.now().minusMillis(tokenLifetimeMs);
+            versions.values().removeIf(version -> version.changedAt().isBefore(expired));
+        } catch (RuntimeException e) {
+            log.warn("Could not poll user changes for token revocation", e);
+        }
+    }
+}
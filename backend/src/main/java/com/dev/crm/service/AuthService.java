@@ -2,10 +2,16 @@ package com.dev.crm.service;
 
 import com.dev.crm.dto.AuthResponseDTO;
 import com.dev.crm.dto.LoginRequestDTO;
+import com.dev.crm.dto.RefreshTokenRequestDTO;
 import com.dev.crm.dto.RegisterRequestDTO;
+import com.dev.crm.entity.RefreshToken;
 import com.dev.crm.entity.User;
+import com.dev.crm.exception.UnauthorizedException;
 import com.dev.crm.repository.UserRepository;
+import com.dev.crm.security.JwtPrincipal;
 import com.dev.crm.security.JwtTokenProvider;
+import com.dev.crm.security.LoginRateLimiter;
+import com.dev.crm.security.TokenRevocations;
 import lombok.RequiredArgsConstructor;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
@@ -13,8 +19,11 @@ import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.List;
+
 @Service
 @RequiredArgsConstructor
 @Transactional
@@ -24,19 +33,31 @@ public class AuthService {
     private final PasswordEncoder passwordEncoder;
     private final JwtTokenProvider tokenProvider;
     private final AuthenticationManager authenticationManager;
+    private final LoginRateLimiter loginRateLimiter;
+    private final RefreshTokenService refreshTokenService;
+    private final TokenRevocations tokenRevocations;
+
+    /**
+     * Register and log in
+     * Runs without a surrounding transaction, so no connection is held while the password is hashed;
+     * the insert and the refresh token each commit on their own
+     */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public AuthResponseDTO register(RegisterRequestDTO registerRequest, String clientAddress) {
+        // Rate limit before any hashing; the username is new, so only the address counts
+        loginRateLimiter.checkAttempt(clientAddress, null);
 
-    public AuthResponseDTO register(RegisterRequestDTO registerRequest) {
-        // Check if username already exists
-        if (userRepository.existsByUsername(registerRequest.getUsername())) {
+        // One query for both uniqueness checks
+        List<String> taken = userRepository.findUsernamesByUsernameOrEmail(
+                registerRequest.getUsername(), registerRequest.getEmail());
+        if (taken.contains(registerRequest.getUsername())) {
             throw new RuntimeException("Username is already taken");
         }
-
-        // Check if email already exists
-        if (userRepository.existsByEmail(registerRequest.getEmail())) {
+        if (!taken.isEmpty()) {
             throw new RuntimeException("Email is already in use");
         }
 
-        // Create new user
+        // Create new user; the only BCrypt round of the request
         User user = new User();
         user.setUsername(registerRequest.getUsername());
         user.setEmail(registerRequest.getEmail());
@@ -48,29 +69,26 @@ public class AuthService {
 
         User savedUser = userRepository.save(user);
 
-        // Authenticate user and generate token
-        Authentication authentication = authenticationManager.authenticate(
-                new UsernamePasswordAuthenticationToken(
-                        registerRequest.getUsername(),
-                        registerRequest.getPassword()
-                )
-        );
+        // The password was just set from this request, so there is nothing to verify:
+        // issue the token from the saved user instead of authenticating (and hashing) again
+        Authentication authentication = UsernamePasswordAuthenticationToken.authenticated(
+                savedUser, null, savedUser.getAuthorities());
 
         SecurityContextHolder.getContext().setAuthentication(authentication);
-        String token = tokenProvider.generateToken(authentication);
-
-        return new AuthResponseDTO(
-                token,
-                savedUser.getId(),
-                savedUser.getUsername(),
-                savedUser.getEmail(),
-                savedUser.getFirstName(),
-                savedUser.getLastName(),
-                savedUser.getRole()
-        );
+        return issueTokens(authentication, savedUser, refreshTokenService.issue(savedUser.getId()));
     }
 
-    public AuthResponseDTO login(LoginRequestDTO loginRequest) {
+    /**
+     * Authenticate and issue tokens
+     * Runs without a surrounding transaction: the user lookup and the refresh token insert are
+     * short transactions of their own, and no connection (or bulkhead permit) is held while the
+     * request waits for the password check
+     */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public AuthResponseDTO login(LoginRequestDTO loginRequest, String clientAddress) {
+        // Rate limit before any hashing, so brute force costs a map lookup rather than a BCrypt round
+        loginRateLimiter.checkAttempt(clientAddress, loginRequest.getUsername());
+
         Authentication authentication = authenticationManager.authenticate(
                 new UsernamePasswordAuthenticationToken(
                         loginRequest.getUsername(),
@@ -79,13 +97,47 @@ public class AuthService {
         );
 
         SecurityContextHolder.getContext().setAuthentication(authentication);
-        String token = tokenProvider.generateToken(authentication);
 
-        User user = userRepository.findByUsername(loginRequest.getUsername())
-                .orElseThrow(() -> new RuntimeException("User not found"));
+        // The provider authenticated the user loaded by CustomUserDetailsService; no second lookup
+        User user = (User) authentication.getPrincipal();
+
+        return issueTokens(authentication, user, refreshTokenService.issue(user.getId()));
+    }
+
+    /**
+     * Exchange a refresh token for a new access token and the next refresh token (rotation)
+     * The account is re-read here, so a disabled user cannot refresh
+     */
+    @Transactional(noRollbackFor = UnauthorizedException.class)
+    public AuthResponseDTO refresh(RefreshTokenRequestDTO refreshRequest) {
+        RefreshToken current = refreshTokenService.consume(refreshRequest.getRefreshToken());
+
+        User user = userRepository.findById(current.getUserId())
+                .filter(User::isEnabled)
+                .orElseThrow(() -> new UnauthorizedException("Account is disabled; please log in again"));
+
+        Authentication authentication = UsernamePasswordAuthenticationToken.authenticated(
+                user, null, user.getAuthorities());
+        return issueTokens(authentication, user, refreshTokenService.issue(user.getId(), current.getFamilyId()));
+    }
+
+    /**
+     * Revoke the presented access token and end the login of the refresh token, when given
+     */
+    public void logout(JwtPrincipal principal, RefreshTokenRequestDTO refreshRequest) {
+        if (principal != null) {
+            tokenRevocations.revoke(principal);
+        }
+        if (refreshRequest != null && refreshRequest.getRefreshToken() != null) {
+            refreshTokenService.revokeFamily(refreshRequest.getRefreshToken());
+        }
+    }
 
+    private AuthResponseDTO issueTokens(Authentication authentication, User user, String refreshToken) {
         return new AuthResponseDTO(
-                token,
+                tokenProvider.generateToken(authentication),
+                refreshToken,
+                tokenProvider.getExpirationMs() / 1000,
                 user.getId(),
                 user.getUsername(),
                 user.getEmail(),
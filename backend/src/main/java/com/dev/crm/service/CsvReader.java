@@ -0,0 +1,100 @@
+package com.dev.crm.service;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Minimal streaming RFC 4180 reader: comma separated, double-quoted fields,
+ * "" as an escaped quote, line breaks allowed inside quotes.
+ * Holds one record in memory at a time.
+ */
+class CsvReader {
+
+    private final Reader reader;
+    private final StringBuilder field = new StringBuilder();
+    private long recordNumber;
+    private int pending = -2;
+
+    CsvReader(Reader reader) {
+        this.reader = reader;
+    }
+
+    /**
+     * 1-based number of the record last returned by {@link #next()}
+     */
+    long recordNumber() {
+        return recordNumber;
+    }
+
+    /**
+     * Next record, or null at end of input; blank lines are skipped
+     */
+    List<String> next() throws IOException {
+        List<String> record = new ArrayList<>();
+        field.setLength(0);
+        boolean quoted = false;
+        boolean sawAny = false;
+
+        while (true) {
+            int c = read();
+            if (c == -1) {
+                if (!sawAny) {
+                    return null;
+                }
+                record.add(field.toString());
+                recordNumber++;
+                return record;
+            }
+            sawAny = true;
+            if (quoted) {
+                if (c == '"') {
+                    int following = read();
+                    if (following == '"') {
+                        field.append('"');
+                    } else {
+                        quoted = false;
+                        unread(following);
+                    }
+                } else {
+                    field.append((char) c);
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                record.add(field.toString());
+                field.setLength(0);
+            } else if (c == '\r' || c == '\n') {
+                if (c == '\r') {
+                    int following = read();
+                    if (following != '\n') {
+                        unread(following);
+                    }
+                }
+                if (record.isEmpty() && field.isEmpty()) {
+                    sawAny = false;
+                    continue;
+                }
+                record.add(field.toString());
+                recordNumber++;
+                return record;
+            } else {
+                field.append((char) c);
+            }
+        }
+    }
+
+    private int read() throws IOException {
+        if (pending != -2) {
+            int c = pending;
+            pending = -2;
+            return c;
+        }
+        return reader.read();
+    }
+
+    private void unread(int c) {
+        pending = c;
+    }
+}
@@ -0,0 +1,166 @@
+package com.dev.crm.service;
+
+import com.dev.crm.dto.CustomerBulkItemResultDTO;
+import com.dev.crm.dto.CustomerBulkResultDTO;
+import com.dev.crm.dto.CustomerCreateDTO;
+import com.dev.crm.entity.Customer;
+import com.dev.crm.event.CustomerChangedEvent;
+import com.dev.crm.exception.BadRequestException;
+import com.dev.crm.mapper.CustomerMapper;
+import com.dev.crm.repository.CustomerRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Bulk customer creation
+ * Items are validated up front, then persisted in chunks of one JDBC batch each:
+ * one set-based email check, one batched INSERT round trip and one commit per chunk.
+ */
+@Slf4j
+@Service
+public class CustomerBulkService {
+
+    private final CustomerRepository customerRepository;
+    private final CustomerMapper customerMapper;
+    private final EntityManager entityManager;
+    private final Validator validator;
+    private final ApplicationEventPublisher eventPublisher;
+    private final TransactionTemplate transactionTemplate;
+
+    @Value("${app.customers.bulk.max-items:10000}")
+    private int maxItems;
+
+    // Keep at or below hibernate.jdbc.batch_size and Oracle's 1000-element IN list limit
+    @Value("${app.customers.bulk.chunk-size:100}")
+    private int chunkSize;
+
+    public CustomerBulkService(CustomerRepository customerRepository,
+                               CustomerMapper customerMapper,
+                               EntityManager entityManager,
+                               Validator validator,
+                               ApplicationEventPublisher eventPublisher,
+                               PlatformTransactionManager transactionManager) {
+        this.customerRepository = customerRepository;
+        this.customerMapper = customerMapper;
+        this.entityManager = entityManager;
+        this.validator = validator;
+        this.eventPublisher = eventPublisher;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    private record Item(int index, CustomerCreateDTO createDTO) {
+    }
+
+    /**
+     * Create many customers, reporting the outcome of every item
+     * Each chunk commits on its own; a failing chunk does not undo earlier ones
+     */
+    public CustomerBulkResultDTO bulkCreateCustomers(List<CustomerCreateDTO> createDTOs) {
+        if (createDTOs.size() > maxItems) {
+            throw new BadRequestException("At most " + maxItems + " customers per bulk request");
+        }
+
+        CustomerBulkItemResultDTO[] results = new CustomerBulkItemResultDTO[createDTOs.size()];
+        Set<String> seenEmails = new HashSet<>();
+        List<Item> chunk = new ArrayList<>(chunkSize);
+
+        for (int i = 0; i < createDTOs.size(); i++) {
+            CustomerCreateDTO createDTO = createDTOs.get(i);
+            String error = validate(createDTO);
+            if (error == null && !seenEmails.add(createDTO.getEmail())) {
+                error = "Duplicate email in request: " + createDTO.getEmail();
+            }
+            if (error != null) {
+                results[i] = CustomerBulkItemResultDTO.failed(i, emailOf(createDTO), error);
+                continue;
+            }
+            chunk.add(new Item(i, createDTO));
+            if (chunk.size() == chunkSize) {
+                persistChunk(chunk, results);
+                chunk.clear();
+            }
+        }
+        if (!chunk.isEmpty()) {
+            persistChunk(chunk, results);
+        }
+
+        int created = 0;
+        for (CustomerBulkItemResultDTO result : results) {
+            if (result.getId() != null) {
+                created++;
+            }
+        }
+        return new CustomerBulkResultDTO(created, results.length - created, List.of(results));
+    }
+
+    private void persistChunk(List<Item> chunk, CustomerBulkItemResultDTO[] results) {
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                Set<String> existing = customerRepository.findExistingEmails(
+                    chunk.stream().map(item -> item.createDTO().getEmail()).collect(Collectors.toList()));
+
+                Map<Integer, Customer> pending = new HashMap<>();
+                for (Item item : chunk) {
+                    String email = item.createDTO().getEmail();
+                    if (existing.contains(email)) {
+                        results[item.index()] = CustomerBulkItemResultDTO.failed(item.index(), email,
+                            "Customer already exists with email: " + email);
+                    } else {
+                        Customer customer = customerMapper.toEntity(item.createDTO());
+                        entityManager.persist(customer);
+                        pending.put(item.index(), customer);
+                    }
+                }
+                // One batched INSERT for the chunk, then drop the managed copies
+                entityManager.flush();
+                pending.forEach((index, customer) -> {
+                    results[index] = CustomerBulkItemResultDTO.created(index, customer.getEmail(), customer.getId());
+                    eventPublisher.publishEvent(CustomerChangedEvent.created(customerMapper.toDTO(customer)));
+                });
+                entityManager.clear();
+            });
+        } catch (RuntimeException e) {
+            log.warn("Bulk customer chunk of {} items failed", chunk.size(), e);
+            for (Item item : chunk) {
+                if (results[item.index()] != null && results[item.index()].getId() == null) {
+                    continue;
+                }
+                results[item.index()] = CustomerBulkItemResultDTO.failed(item.index(), item.createDTO().getEmail(),
+                    "Chunk rolled back: " + e.getMessage());
+            }
+        }
+    }
+
+    private String validate(CustomerCreateDTO createDTO) {
+        if (createDTO == null) {
+            return "Item is empty";
+        }
+        Set<ConstraintViolation<CustomerCreateDTO>> violations = validator.validate(createDTO);
+        if (violations.isEmpty()) {
+            return null;
+        }
+        return violations.stream()
+            .map(ConstraintViolation::getMessage)
+            .sorted()
+            .collect(Collectors.joining("; "));
+    }
+
+    private static String emailOf(CustomerCreateDTO createDTO) {
+        return createDTO == null ? null : createDTO.getEmail();
+    }
+}
@@ -0,0 +1,71 @@
+package com.dev.crm.service;
+
+import com.dev.crm.dto.CustomerDTO;
+import com.dev.crm.entity.Customer;
+import com.dev.crm.projection.CustomerField;
+import com.dev.crm.repository.CustomerFingerprint;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * Strong ETags for customer resources.
+ * A single customer is identified by id plus updatedAt; a collection page by the
+ * table fingerprint (row count, max updatedAt) plus the page parameters.
+ */
+public final class CustomerETags {
+
+    private CustomerETags() {
+    }
+
+    public static String of(CustomerDTO customer) {
+        return of(customer.getId(), customer.getUpdatedAt());
+    }
+
+    public static String of(Customer customer) {
+        return of(customer.getId(), customer.getUpdatedAt());
+    }
+
+    /**
+     * ETag of a sparse fieldset of a customer; differs per fieldset, like any other representation
+     */
+    public static String of(Long id, LocalDateTime updatedAt, Set<CustomerField> fields) {
+        // Bit per field: stable across restarts and nodes, unlike enum hash codes
+        int mask = 0;
+        for (CustomerField field : fields) {
+            mask |= 1 << field.ordinal();
+        }
+        return "\"c" + id + "-" + stamp(updatedAt) + "-f" + Integer.toHexString(mask) + "\"";
+    }
+
+    public static String ofPage(CustomerFingerprint fingerprint, Object... pageParameters) {
+        return "\"p" + fingerprint.getCount() + "-" + stamp(fingerprint.getLastUpdatedAt())
+            + "-" + Integer.toHexString(Objects.hash(pageParameters)) + "\"";
+    }
+
+    /**
+     * Whether an If-Match header value matches the current ETag; weak tags never match
+     */
+    public static boolean matches(String ifMatch, String current) {
+        for (String candidate : ifMatch.split(",")) {
+            String tag = candidate.trim();
+            if (tag.equals("*") || tag.equals(current)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static String of(Long id, LocalDateTime updatedAt) {
+        return "\"c" + id + "-" + stamp(updatedAt) + "\"";
+    }
+
+    private static String stamp(LocalDateTime time) {
+        if (time == null) {
+            return "0";
+        }
+        return Long.toHexString(time.toEpochSecond(ZoneOffset.UTC)) + "." + Integer.toHexString(time.getNano());
+    }
+}
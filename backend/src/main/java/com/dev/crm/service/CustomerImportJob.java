@@ -0,0 +1,42 @@
+package com.dev.crm.service;
+
+import com.dev.crm.dto.CustomerImportStatusDTO;
+
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Mutable progress of one running import; counters are updated by the pipeline threads
+ */
+class CustomerImportJob {
+
+    final String id;
+    final String fileName;
+    final Path errorFile;
+    final LocalDateTime startedAt = LocalDateTime.now();
+    final AtomicLong rowsRead = new AtomicLong();
+    final AtomicLong created = new AtomicLong();
+    final AtomicLong updated = new AtomicLong();
+    final AtomicLong failed = new AtomicLong();
+    volatile String status = "RUNNING";
+    volatile String error;
+    volatile LocalDateTime finishedAt;
+
+    CustomerImportJob(String id, String fileName, Path errorFile) {
+        this.id = id;
+        this.fileName = fileName;
+        this.errorFile = errorFile;
+    }
+
+    void finish(String status, String error) {
+        this.error = error;
+        this.finishedAt = LocalDateTime.now();
+        this.status = status;
+    }
+
+    CustomerImportStatusDTO toDTO() {
+        return new CustomerImportStatusDTO(id, status, fileName, rowsRead.get(), created.get(), updated.get(),
+            failed.get(), startedAt, finishedAt, error);
+    }
+}
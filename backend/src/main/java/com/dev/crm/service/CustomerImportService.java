@@ -0,0 +1,319 @@
+package com.dev.crm.service;
+
+import com.dev.crm.dto.CustomerCreateDTO;
+import com.dev.crm.dto.CustomerDTO;
+import com.dev.crm.dto.CustomerImportStatusDTO;
+import com.dev.crm.event.CustomerChangedEvent;
+import com.dev.crm.exception.BadRequestException;
+import com.dev.crm.exception.ResourceNotFoundException;
+import com.dev.crm.exception.TooManyRequestsException;
+import com.dev.crm.repository.CustomerRepository;
+import jakarta.annotation.PreDestroy;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * CSV customer import, upserting by email
+ * The upload is parsed as a stream in batches; each batch is validated in parallel
+ * while the previous one is written with a single MERGE array-DML round trip.
+ * At most two batches are held in memory per job, and per-row errors go to a file.
+ */
+@Slf4j
+@Service
+public class CustomerImportService {
+
+    private static final String[] COLUMNS = {"firstname", "lastname", "email", "phonenumber", "companyname", "notes"};
+
+    private final CustomerRepository customerRepository;
+    private final Validator validator;
+    private final ApplicationEventPublisher eventPublisher;
+    private final TransactionTemplate transactionTemplate;
+    private final ExecutorService jobExecutor;
+    private final ExecutorService writeExecutor;
+    private final Map<String, CustomerImportJob> jobs = new ConcurrentHashMap<>();
+
+    // Keep within Oracle's 1000-element IN list limit
+    @Value("${app.customers.import.batch-size:1000}")
+    private int batchSize;
+
+    @Value("${app.customers.import.retention-minutes:60}")
+    private long retentionMinutes;
+
+    private record ImportRow(long row, CustomerCreateDTO customer, String error) {
+    }
+
+    public CustomerImportService(CustomerRepository customerRepository,
+                                 Validator validator,
+                                 ApplicationEventPublisher eventPublisher,
+                                 PlatformTransactionManager transactionManager,
+                                 @Value("${app.customers.import.max-concurrent-jobs:2}") int maxConcurrentJobs) {
+        this.customerRepository = customerRepository;
+        this.validator = validator;
+        this.eventPublisher = eventPublisher;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        // No queue: a busy importer rejects new jobs instead of piling up uploads on disk
+        this.jobExecutor = new ThreadPoolExecutor(maxConcurrentJobs, maxConcurrentJobs, 0L, TimeUnit.MILLISECONDS,
+            new SynchronousQueue<>(), runnable -> new Thread(runnable, "customer-import"),
+            new ThreadPoolExecutor.AbortPolicy());
+        // Each job has at most one batch in flight, so one writer per job is enough
+        this.writeExecutor = new ThreadPoolExecutor(maxConcurrentJobs, maxConcurrentJobs, 0L, TimeUnit.MILLISECONDS,
+            new ArrayBlockingQueue<>(maxConcurrentJobs + 1), runnable -> new Thread(runnable, "customer-import-write"));
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        jobExecutor.shutdownNow();
+        writeExecutor.shutdownNow();
+    }
+
+    /**
+     * Start importing an uploaded CSV file; progress is available through {@link #getStatus(String)}
+     */
+    public CustomerImportStatusDTO startImport(MultipartFile file) throws IOException {
+        if (file.isEmpty()) {
+            throw new BadRequestException("Import file is empty");
+        }
+        purgeFinishedJobs();
+
+        // The multipart temp file is gone once the request ends, so keep our own copy
+        Path source = Files.createTempFile("customer-import-", ".csv");
+        file.transferTo(source);
+        Path errorFile = Files.createTempFile("customer-import-errors-", ".csv");
+        CustomerImportJob job = new CustomerImportJob(UUID.randomUUID().toString(), file.getOriginalFilename(), errorFile);
+
+        jobs.put(job.id, job);
+        try {
+            jobExecutor.execute(() -> run(job, source));
+        } catch (RejectedExecutionException e) {
+            jobs.remove(job.id);
+            Files.deleteIfExists(source);
+            Files.deleteIfExists(errorFile);
+            throw new TooManyRequestsException("Too many imports running, retry later");
+        }
+        return job.toDTO();
+    }
+
+    public CustomerImportStatusDTO getStatus(String jobId) {
+        return findJob(jobId).toDTO();
+    }
+
+    /**
+     * CSV of rejected rows: row number, email and reason
+     */
+    public Path getErrorFile(String jobId) {
+        return findJob(jobId).errorFile;
+    }
+
+    private CustomerImportJob findJob(String jobId) {
+        CustomerImportJob job = jobs.get(jobId);
+        if (job == null) {
+            throw new ResourceNotFoundException("Import not found with id: " + jobId);
+        }
+        return job;
+    }
+
+    private void run(CustomerImportJob job, Path source) {
+        try (BufferedReader in = Files.newBufferedReader(source, StandardCharsets.UTF_8);
+             BufferedWriter errors = Files.newBufferedWriter(job.errorFile, StandardCharsets.UTF_8)) {
+            errors.write("row,email,error");
+            errors.newLine();
+
+            CsvReader csv = new CsvReader(in);
+            int[] columns = readHeader(csv);
+            CompletableFuture<Void> inFlight = CompletableFuture.completedFuture(null);
+
+            List<ImportRow> batch;
+            while (!(batch = readBatch(csv, columns, job)).isEmpty()) {
+                List<ImportRow> checked = batch.parallelStream().map(this::validate).toList();
+                List<ImportRow> valid = new ArrayList<>(checked.size());
+                for (ImportRow row : checked) {
+                    if (row.error() == null) {
+                        valid.add(row);
+                    } else {
+                        reject(job, errors, row, row.error());
+                    }
+                }
+                // Backpressure: never read further ahead than one batch waiting on the database
+                inFlight.join();
+                inFlight = CompletableFuture.runAsync(() -> writeBatch(job, valid, errors), writeExecutor);
+            }
+            inFlight.join();
+            job.finish("COMPLETED", null);
+            log.info("Customer import {} finished: {} read, {} created, {} updated, {} failed",
+                job.id, job.rowsRead.get(), job.created.get(), job.updated.get(), job.failed.get());
+        } catch (Exception e) {
+            log.error("Customer import {} failed", job.id, e);
+            job.finish("FAILED", e.getMessage());
+        } finally {
+            try {
+                Files.deleteIfExists(source);
+            } catch (IOException e) {
+                log.warn("Could not delete import file {}", source, e);
+            }
+        }
+    }
+
+    private int[] readHeader(CsvReader csv) throws IOException {
+        List<String> header = csv.next();
+        if (header == null) {
+            throw new BadRequestException("Import file has no header row");
+        }
+        int[] columns = new int[COLUMNS.length];
+        for (int i = 0; i < COLUMNS.length; i++) {
+            columns[i] = -1;
+            for (int j = 0; j < header.size(); j++) {
+                String name = header.get(j).replace("_", "").replace(" ", "").trim().toLowerCase(Locale.ROOT);
+                if (name.equals(COLUMNS[i])) {
+                    columns[i] = j;
+                }
+            }
+        }
+        if (columns[0] < 0 || columns[1] < 0 || columns[2] < 0) {
+            throw new BadRequestException("Header must contain firstName, lastName and email columns");
+        }
+        return columns;
+    }
+
+    private List<ImportRow> readBatch(CsvReader csv, int[] columns, CustomerImportJob job) throws IOException {
+        List<ImportRow> batch = new ArrayList<>(batchSize);
+        List<String> record;
+        while (batch.size() < batchSize && (record = csv.next()) != null) {
+            CustomerCreateDTO customer = new CustomerCreateDTO(
+                column(record, columns[0]),
+                column(record, columns[1]),
+                column(record, columns[2]),
+                column(record, columns[3]),
+                column(record, columns[4]),
+                column(record, columns[5]));
+            batch.add(new ImportRow(csv.recordNumber(), customer, null));
+            job.rowsRead.incrementAndGet();
+        }
+        return batch;
+    }
+
+    private static String column(List<String> record, int index) {
+        if (index < 0 || index >= record.size()) {
+            return null;
+        }
+        String value = record.get(index).trim();
+        return value.isEmpty() ? null : value;
+    }
+
+    private ImportRow validate(ImportRow row) {
+        Set<ConstraintViolation<CustomerCreateDTO>> violations = validator.validate(row.customer());
+        if (violations.isEmpty()) {
+            return row;
+        }
+        String error = violations.stream()
+            .map(ConstraintViolation::getMessage)
+            .sorted()
+            .collect(Collectors.joining("; "));
+        return new ImportRow(row.row(), row.customer(), error);
+    }
+
+    private void writeBatch(CustomerImportJob job, List<ImportRow> rows, BufferedWriter errors) {
+        if (rows.isEmpty()) {
+            return;
+        }
+        try {
+            long[] counts = transactionTemplate.execute(status -> {
+                Set<String> emails = rows.stream().map(row -> row.customer().getEmail()).collect(Collectors.toSet());
+                Map<String, CustomerDTO> previous = customerRepository.findDTOsByEmailIn(emails).stream()
+                    .collect(Collectors.toMap(CustomerDTO::getEmail, customer -> customer));
+                Set<String> existing = new HashSet<>(previous.keySet());
+
+                customerRepository.mergeByEmail(rows.stream().map(ImportRow::customer).toList());
+
+                // MERGE bypasses JPA; tell listeners (search, cache, outbox) what changed
+                for (CustomerDTO customer : customerRepository.findDTOsByEmailIn(emails)) {
+                    CustomerDTO before = previous.get(customer.getEmail());
+                    eventPublisher.publishEvent(before != null
+                        ? CustomerChangedEvent.updated(before, customer)
+                        : CustomerChangedEvent.created(customer));
+                }
+                long created = 0;
+                for (ImportRow row : rows) {
+                    // Repeated emails within the file count as updates of the first occurrence
+                    if (existing.add(row.customer().getEmail())) {
+                        created++;
+                    }
+                }
+                return new long[] {created, rows.size() - created};
+            });
+            job.created.addAndGet(counts[0]);
+            job.updated.addAndGet(counts[1]);
+        } catch (RuntimeException e) {
+            log.warn("Customer import {} batch of {} rows failed", job.id, rows.size(), e);
+            for (ImportRow row : rows) {
+                reject(job, errors, row, "Batch rolled back: " + e.getMessage());
+            }
+        }
+    }
+
+    private void reject(CustomerImportJob job, BufferedWriter errors, ImportRow row, String error) {
+        job.failed.incrementAndGet();
+        // Parser and writer threads both report errors
+        synchronized (errors) {
+            try {
+                errors.write(row.row() + "," + csvField(row.customer().getEmail()) + "," + csvField(error));
+                errors.newLine();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+    }
+
+    private static String csvField(String value) {
+        if (value == null) {
+            return "";
+        }
+        return "\"" + value.replace("\"", "\"\"") + "\"";
+    }
+
+    private void purgeFinishedJobs() {
+        LocalDateTime cutoff = LocalDateTime.now().minusMinutes(retentionMinutes);
+        jobs.values().removeIf(job -> {
+            if (job.finishedAt == null || job.finishedAt.isAfter(cutoff)) {
+                return false;
+            }
+            try {
+                Files.deleteIfExists(job.errorFile);
+            } catch (IOException e) {
+                log.warn("Could not delete import error file {}", job.errorFile, e);
+            }
+            return true;
+        });
+    }
+}
@@ -1,16 +1,46 @@
 package com.dev.crm.service;
 
+import com.dev.crm.cache.CustomerCache;
+import com.dev.crm.cache.CustomerJsonCache;
 import com.dev.crm.dto.CustomerCreateDTO;
 import com.dev.crm.dto.CustomerDTO;
+import com.dev.crm.dto.CustomerPageDTO;
+import com.dev.crm.dto.CustomerStatsDTO;
+import com.dev.crm.dto.CustomerSummaryDTO;
 import com.dev.crm.dto.CustomerUpdateDTO;
 import com.dev.crm.entity.Customer;
+import com.dev.crm.event.CustomerChangedEvent;
+import com.dev.crm.exception.ConflictException;
+import com.dev.crm.exception.PreconditionFailedException;
+import com.dev.crm.exception.ResourceNotFoundException;
 import com.dev.crm.mapper.CustomerMapper;
+import com.dev.crm.pagination.CustomerCursor;
+import com.dev.crm.pagination.CustomerPages;
+import com.dev.crm.projection.CustomerField;
 import com.dev.crm.repository.CustomerRepository;
+import com.dev.crm.search.CustomerSearchIndex;
+import com.dev.crm.stats.CustomerStatistics;
+import jakarta.persistence.EntityManager;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
+import tools.jackson.databind.ObjectWriter;
+import tools.jackson.databind.json.JsonMapper;
 
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.EnumSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Stream;
 
 @Service
 @RequiredArgsConstructor
@@ -19,82 +49,232 @@ public class CustomerService {
 
     private final CustomerRepository customerRepository;
     private final CustomerMapper customerMapper;
+    private final EntityManager entityManager;
+    private final JsonMapper jsonMapper;
+    private final ApplicationEventPublisher eventPublisher;
+    private final CustomerSearchIndex customerSearchIndex;
+    private final CustomerCache customerCache;
+    private final CustomerJsonCache customerJsonCache;
+    private final CustomerStatistics customerStatistics;
+
+    @Value("${app.customers.page.default-size:50}")
+    private int defaultPageSize;
+
+    @Value("${app.customers.page.max-size:500}")
+    private int maxPageSize;
+
+    @Value("${app.customers.search.max-results:100}")
+    private int maxSearchResults;
+
+    @Value("${app.customers.export.fetch-size:1000}")
+    private int exportFetchSize;
 
     /**
-     * Get all customers
-     * Demonstrates: Entity to DTO list mapping
+     * Get one keyset page of customers
+     * Rows are projected into CustomerSummaryDTO by the query, so no entities or mapping
      */
     @Transactional(readOnly = true)
-    public List<CustomerDTO> getAllCustomers() {
-        List<Customer> customers = customerRepository.findAll();
-        return customerMapper.toDTOList(customers);
+    public CustomerPageDTO<CustomerSummaryDTO> getCustomerPage(String cursor, Integer size, String sort, String direction) {
+        int pageSize = CustomerPages.pageSize(size, defaultPageSize, maxPageSize);
+        CustomerCursor position = CustomerPages.position(cursor, sort, direction);
+        return CustomerPages.toPage(position, customerRepository.findKeysetPage(position, pageSize + 1), pageSize);
     }
 
     /**
-     * Get customer by ID
-     * Demonstrates: Entity to DTO mapping
+     * Get one keyset page of customers with only the requested fields
+     * The SELECT reads just those columns; id and the sort key are always included
      */
     @Transactional(readOnly = true)
+    public CustomerPageDTO<Map<String, Object>> getCustomerPage(String cursor, Integer size, String sort,
+                                                                String direction, Set<CustomerField> fields) {
+        int pageSize = CustomerPages.pageSize(size, defaultPageSize, maxPageSize);
+        CustomerCursor position = CustomerPages.position(cursor, sort, direction);
+        Set<CustomerField> selected = EnumSet.copyOf(fields);
+        selected.add(CustomerField.fromProperty(position.sort().getProperty()));
+        String key = position.sort().getProperty();
+        return CustomerPages.toPage(position, customerRepository.findKeysetPage(position, pageSize + 1, selected),
+            pageSize, row -> (Long) row.get("id"), row -> row.get(key));
+    }
+
+    /**
+     * ETag of a customer page, computed without running the page query
+     */
+    @Transactional(readOnly = true)
+    public String getCustomerPageETag(String cursor, Integer size, String sort, String direction, String fields) {
+        return CustomerETags.ofPage(customerRepository.findFingerprint(), cursor, size, sort, direction, fields);
+    }
+
+    /**
+     * Full-text search over name, email, company and notes
+     * Served from the in-memory index, best matches first; no transaction or connection needed
+     */
+    @Transactional(propagation = Propagation.SUPPORTS)
+    public List<CustomerSummaryDTO> searchCustomers(String query, Integer limit) {
+        int resultLimit = limit == null ? 20 : Math.min(Math.max(limit, 1), maxSearchResults);
+        return customerSearchIndex.search(query, resultLimit);
+    }
+
+    /**
+     * Dashboard statistics: totals, largest companies, customers created per day and week
+     * Served from incrementally maintained counters; no transaction or connection needed
+     */
+    @Transactional(propagation = Propagation.SUPPORTS)
+    public CustomerStatsDTO getCustomerStats() {
+        return customerStatistics.getStats();
+    }
+
+    /**
+     * Export all customers as newline-delimited JSON
+     * Rows flow from a JDBC cursor straight to the output stream, and the persistence
+     * context is cleared after every fetch so memory stays flat regardless of table size
+     */
+    @Transactional(readOnly = true)
+    public void exportCustomers(OutputStream out) throws IOException {
+        ObjectWriter writer = jsonMapper.writerFor(CustomerDTO.class);
+        long written = 0;
+        try (Stream<Customer> customers = customerRepository.streamAll(exportFetchSize)) {
+            Iterator<Customer> iterator = customers.iterator();
+            while (iterator.hasNext()) {
+                out.write(writer.writeValueAsBytes(customerMapper.toDTO(iterator.next())));
+                out.write('\n');
+                written++;
+                // Flush the first row right away, then once per fetched batch
+                if (written == 1 || written % exportFetchSize == 0) {
+                    entityManager.clear();
+                    out.flush();
+                }
+            }
+        }
+        out.flush();
+    }
+
+    /**
+     * Get customer by ID
+     * Served from CustomerCache; misses load a DTO projection straight from the SELECT
+     */
+    @Transactional(propagation = Propagation.SUPPORTS)
     public CustomerDTO getCustomerById(Long id) {
-        Customer customer = customerRepository.findById(id)
-            .orElseThrow(() -> new RuntimeException("Customer not found with id: " + id));
-        return customerMapper.toDTO(customer);
+        return customerCache.getById(id)
+            .orElseThrow(() -> new ResourceNotFoundException("Customer not found with id: " + id));
+    }
+
+    /**
+     * Get customer by ID as ready-to-send JSON bytes
+     * No mapping or serialization unless the customer changed since it was last served
+     */
+    @Transactional(propagation = Propagation.SUPPORTS)
+    public CustomerJsonCache.SerializedCustomer getSerializedCustomer(Long id) {
+        return customerJsonCache.get(id)
+            .orElseThrow(() -> new ResourceNotFoundException("Customer not found with id: " + id));
+    }
+
+    /**
+     * Get customer by ID with only the requested fields; id and updatedAt are always included
+     * A cached customer is projected in memory; otherwise the SELECT reads just those columns
+     */
+    @Transactional(propagation = Propagation.SUPPORTS)
+    public Map<String, Object> getCustomerFieldsById(Long id, Set<CustomerField> fields) {
+        Set<CustomerField> selected = EnumSet.copyOf(fields);
+        selected.add(CustomerField.UPDATED_AT);
+        return customerCache.getIfPresent(id)
+            .map(customer -> {
+                Map<String, Object> row = new LinkedHashMap<>();
+                selected.forEach(field -> row.put(field.getProperty(), field.valueOf(customer)));
+                return row;
+            })
+            .or(() -> customerRepository.findFieldsById(id, selected))
+            .orElseThrow(() -> new ResourceNotFoundException("Customer not found with id: " + id));
     }
 
     /**
      * Create new customer
      * Demonstrates: CreateDTO to Entity mapping
+     * Email uniqueness is enforced by the database constraint: one INSERT round trip
      */
     public CustomerDTO createCustomer(CustomerCreateDTO createDTO) {
-        if (customerRepository.existsByEmail(createDTO.getEmail())) {
-            throw new RuntimeException("Customer already exists with email: " + createDTO.getEmail());
-        }
-
         Customer customer = customerMapper.toEntity(createDTO);
-        Customer savedCustomer = customerRepository.save(customer);
-        return customerMapper.toDTO(savedCustomer);
+        Customer savedCustomer = saveAndFlush(customer);
+        CustomerDTO customerDTO = customerMapper.toDTO(savedCustomer);
+        eventPublisher.publishEvent(CustomerChangedEvent.created(customerDTO));
+        return customerDTO;
     }
 
     /**
      * Update customer
      * Demonstrates: UpdateDTO to Entity mapping with @MappingTarget
+     * Concurrent updates are detected through the @Version column
      */
-    public CustomerDTO updateCustomer(Long id, CustomerUpdateDTO updateDTO) {
+    public CustomerDTO updateCustomer(Long id, CustomerUpdateDTO updateDTO, String ifMatch) {
         Customer customer = customerRepository.findById(id)
-            .orElseThrow(() -> new RuntimeException("Customer not found with id: " + id));
-
-        // Check email uniqueness if email is being updated
-        if (updateDTO.getEmail() != null &&
-            !updateDTO.getEmail().equals(customer.getEmail()) &&
-            customerRepository.existsByEmail(updateDTO.getEmail())) {
-            throw new RuntimeException("Customer already exists with email: " + updateDTO.getEmail());
-        }
+            .orElseThrow(() -> new ResourceNotFoundException("Customer not found with id: " + id));
+        checkPrecondition(customer, ifMatch);
 
+        CustomerDTO previous = customerMapper.toDTO(customer);
         customerMapper.updateEntityFromDTO(updateDTO, customer);
-        Customer updatedCustomer = customerRepository.save(customer);
-        return customerMapper.toDTO(updatedCustomer);
+        Customer updatedCustomer = saveAndFlush(customer);
+        CustomerDTO customerDTO = customerMapper.toDTO(updatedCustomer);
+        eventPublisher.publishEvent(CustomerChangedEvent.updated(previous, customerDTO));
+        return customerDTO;
     }
 
     /**
      * Partial update customer
      * Demonstrates: Partial update using NullValuePropertyMappingStrategy.IGNORE
      */
-    public CustomerDTO partialUpdateCustomer(Long id, CustomerUpdateDTO updateDTO) {
+    public CustomerDTO partialUpdateCustomer(Long id, CustomerUpdateDTO updateDTO, String ifMatch) {
         Customer customer = customerRepository.findById(id)
-            .orElseThrow(() -> new RuntimeException("Customer not found with id: " + id));
+            .orElseThrow(() -> new ResourceNotFoundException("Customer not found with id: " + id));
+        checkPrecondition(customer, ifMatch);
 
+        CustomerDTO previous = customerMapper.toDTO(customer);
         customerMapper.partialUpdate(updateDTO, customer);
-        Customer updatedCustomer = customerRepository.save(customer);
-        return customerMapper.toDTO(updatedCustomer);
+        Customer updatedCustomer = saveAndFlush(customer);
+        CustomerDTO customerDTO = customerMapper.toDTO(updatedCustomer);
+        eventPublisher.publishEvent(CustomerChangedEvent.updated(previous, customerDTO));
+        return customerDTO;
+    }
+
+    /**
+     * Reject the update when the client's If-Match no longer matches the stored customer
+     */
+    private void checkPrecondition(Customer customer, String ifMatch) {
+        if (ifMatch != null && !CustomerETags.matches(ifMatch, CustomerETags.of(customer))) {
+            throw new PreconditionFailedException("Customer " + customer.getId() + " has been modified");
+        }
+    }
+
+    /**
+     * Flush so the statement runs here (and @PreUpdate stamps updatedAt before the DTO
+     * and its ETag are built), translating constraint and version failures to conflicts
+     */
+    private Customer saveAndFlush(Customer customer) {
+        try {
+            return customerRepository.saveAndFlush(customer);
+        } catch (DataIntegrityViolationException e) {
+            throw new ConflictException("Customer already exists with email: " + customer.getEmail(), e);
+        } catch (OptimisticLockingFailureException e) {
+            throw new ConflictException("Customer " + customer.getId() + " was modified concurrently", e);
+        }
     }
 
     /**
      * Delete customer
+     * A single DELETE that returns the deleted row, so listeners get the exact state it had
+     * without a lookup first; no row means the customer did not exist
      */
     public void deleteCustomer(Long id) {
-        if (!customerRepository.existsById(id)) {
-            throw new RuntimeException("Customer not found with id: " + id);
-        }
-        customerRepository.deleteById(id);
+        CustomerDTO previous = customerRepository.deleteByIdReturning(id)
+            .orElseThrow(() -> new ResourceNotFoundException("Customer not found with id: " + id));
+        eventPublisher.publishEvent(CustomerChangedEvent.deleted(previous));
+    }
+
+    /**
+     * Customer cache statistics
+     */
+    @Transactional(propagation = Propagation.SUPPORTS)
+    public Map<String, Object> getCacheStats() {
+        Map<String, Object> stats = customerCache.stats();
+        stats.put("json", customerJsonCache.stats());
+        return stats;
     }
 }
@@ -0,0 +1,91 @@
+package com.dev.crm.service;
+
+import com.dev.crm.dto.CustomerDTO;
+import com.dev.crm.dto.CustomerSyncDTO;
+import com.dev.crm.entity.CustomerChange;
+import com.dev.crm.event.CustomerChangedEvent;
+import com.dev.crm.repository.CustomerChangeRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Delta sync from the customer_changes outbox
+ * Watermarks are outbox ids, so a sync is a primary key range scan over the changes
+ * since the last call: the cost follows the number of changes, not the table size.
+ */
+@Service
+@RequiredArgsConstructor
+// Not read-only on purpose: served by the primary, since a lagging replica could hide
+// changes below the watermark handed out
+@Transactional
+public class CustomerSyncService {
+
+    private final CustomerChangeRepository customerChangeRepository;
+    private final JsonMapper jsonMapper;
+
+    @Value("${app.customers.sync.max-changes:1000}")
+    private int maxChanges;
+
+    @Value("${app.customers.changes.settle-seconds:5}")
+    private long settleSeconds;
+
+    /**
+     * Get customers changed after the given watermark
+     * Several changes of one customer collapse into its latest state or a tombstone
+     */
+    public CustomerSyncDTO getChangesSince(Long since) {
+        // Retention purges an id prefix; a watermark is complete while nothing after it was purged.
+        // An empty outbox answers 0 (or the purge boundary), which stays valid until changes arrive.
+        long purgedThrough = customerChangeRepository.findPurgedThrough();
+        long head = Math.max(customerChangeRepository.findMaxId(), purgedThrough);
+        if (since == null || since < purgedThrough || since > head) {
+            return new CustomerSyncDTO(List.of(), List.of(), head, false, true);
+        }
+
+        List<CustomerChange> changes =
+            customerChangeRepository.findByIdGreaterThanOrderById(since, Limit.of(maxChanges + 1));
+        boolean hasMore = changes.size() > maxChanges;
+        if (hasMore) {
+            changes = changes.subList(0, maxChanges);
+        }
+
+        Map<Long, CustomerChange> latest = new LinkedHashMap<>();
+        long watermark = since;
+        boolean settling = false;
+        LocalDateTime settled = LocalDateTime.now().minusSeconds(settleSeconds);
+        for (CustomerChange change : changes) {
+            latest.remove(change.getCustomerId());
+            latest.put(change.getCustomerId(), change);
+            // Ids are taken just before commit, so a lower id may still become visible; the watermark
+            // stops at the first change that is not settled yet (it and later ones are sent again)
+            if (!settling && change.getChangedAt().isBefore(settled)) {
+                watermark = change.getId();
+            } else {
+                settling = true;
+            }
+        }
+        // The rest of the page comes back on the next call; asking again right away would only repeat it
+        hasMore = hasMore && !settling;
+
+        List<CustomerDTO> changed = new ArrayList<>();
+        List<Long> deleted = new ArrayList<>();
+        for (CustomerChange change : latest.values()) {
+            if (change.getType() == CustomerChangedEvent.Type.DELETED) {
+                deleted.add(change.getCustomerId());
+            } else {
+                changed.add(jsonMapper.readValue(change.getPayload(), CustomerDTO.class));
+            }
+        }
+        return new CustomerSyncDTO(changed, deleted, watermark, hasMore, false);
+    }
+}
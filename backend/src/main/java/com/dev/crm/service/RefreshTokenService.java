@@ -0,0 +1,93 @@
+package com.dev.crm.service;
+
+import com.dev.crm.entity.RefreshToken;
+import com.dev.crm.exception.UnauthorizedException;
+import com.dev.crm.repository.RefreshTokenRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.security.SecureRandom;
+import java.time.LocalDateTime;
+import java.util.Base64;
+import java.util.HexFormat;
+import java.util.UUID;
+
+/**
+ * Opaque, rotating refresh tokens
+ * Only the SHA-256 of a token is stored. Each token can be used once; a refresh consumes it
+ * and the caller issues the next one in the same family. Reuse of a consumed token ends
+ * the whole family, so a stolen token stops working as soon as either party uses it again.
+ */
+@Service
+@RequiredArgsConstructor
+@Transactional
+public class RefreshTokenService {
+
+    private final RefreshTokenRepository refreshTokenRepository;
+    private final SecureRandom random = new SecureRandom();
+
+    @Value("${app.jwt.refresh.expiration-days:14}")
+    private long expirationDays;
+
+    /**
+     * Start a new family for a fresh login
+     */
+    public String issue(Long userId) {
+        return issue(userId, UUID.randomUUID().toString());
+    }
+
+    /**
+     * Next token of an existing family
+     */
+    public String issue(Long userId, String familyId) {
+        byte[] bytes = new byte[32];
+        random.nextBytes(bytes);
+        String token = Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
+        refreshTokenRepository.save(new RefreshToken(hash(token), userId, familyId, false,
+            LocalDateTime.now().plusDays(expirationDays)));
+        return token;
+    }
+
+    /**
+     * Use up a refresh token; returns it so the caller can issue the next one for its user and family
+     * Unknown, expired and reused tokens are refused with 401; reuse also revokes the family,
+     * which must survive the refusal, hence noRollbackFor
+     */
+    @Transactional(noRollbackFor = UnauthorizedException.class)
+    public RefreshToken consume(String token) {
+        RefreshToken current = refreshTokenRepository.findForUpdate(hash(token))
+            .orElseThrow(() -> new UnauthorizedException("Invalid refresh token"));
+        if (current.isUsed()) {
+            refreshTokenRepository.deleteByFamilyId(current.getFamilyId());
+            throw new UnauthorizedException("Refresh token was already used; please log in again");
+        }
+        if (current.getExpiresAt().isBefore(LocalDateTime.now())) {
+            throw new UnauthorizedException("Refresh token expired; please log in again");
+        }
+        current.setUsed(true);
+        return current;
+    }
+
+    /**
+     * End the login this refresh token belongs to; unknown tokens are ignored
+     */
+    public void revokeFamily(String token) {
+        refreshTokenRepository.findById(hash(token))
+            .ifPresent(current -> refreshTokenRepository.deleteByFamilyId(current.getFamilyId()));
+    }
+
+    private static String hash(String token) {
+        try {
+            return HexFormat.of().formatHex(
+                MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.US_ASCII)));
+        } catch (NoSuchAlgorithmException e) {
+            // Every Java platform is required to provide SHA-256
+            throw new IllegalStateException(e);
+        }
+    }
+}
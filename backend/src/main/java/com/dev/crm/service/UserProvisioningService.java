@@ -0,0 +1,189 @@
+package com.dev.crm.service;
+
+import com.dev.crm.dto.UserBulkItemResultDTO;
+import com.dev.crm.dto.UserBulkResultDTO;
+import com.dev.crm.dto.UserProvisionDTO;
+import com.dev.crm.entity.User;
+import com.dev.crm.exception.BadRequestException;
+import com.dev.crm.repository.UserRepository;
+import com.dev.crm.security.BoundedPasswordEncoder;
+import jakarta.persistence.EntityManager;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Admin bulk user provisioning
+ * Items are validated up front; each chunk then costs one query per unique column,
+ * parallel BCrypt on part of the hashing pool (outside any transaction), one batched
+ * INSERT and one commit.
+ */
+@Slf4j
+@Service
+public class UserProvisioningService {
+
+    private final UserRepository userRepository;
+    private final BoundedPasswordEncoder passwordEncoder;
+    private final EntityManager entityManager;
+    private final Validator validator;
+    private final TransactionTemplate transactionTemplate;
+
+    @Value("${app.users.bulk.max-items:10000}")
+    private int maxItems;
+
+    // Keep at or below hibernate.jdbc.batch_size and Oracle's 1000-element IN list limit
+    @Value("${app.users.bulk.chunk-size:100}")
+    private int chunkSize;
+
+    public UserProvisioningService(UserRepository userRepository,
+                                   BoundedPasswordEncoder passwordEncoder,
+                                   EntityManager entityManager,
+                                   Validator validator,
+                                   PlatformTransactionManager transactionManager) {
+        this.userRepository = userRepository;
+        this.passwordEncoder = passwordEncoder;
+        this.entityManager = entityManager;
+        this.validator = validator;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    private record Item(int index, UserProvisionDTO user) {
+    }
+
+    /**
+     * Create many users, reporting the outcome of every item
+     * Each chunk commits on its own; a failing chunk does not undo earlier ones
+     */
+    public UserBulkResultDTO provisionUsers(List<UserProvisionDTO> users) {
+        if (users.size() > maxItems) {
+            throw new BadRequestException("At most " + maxItems + " users per bulk request");
+        }
+
+        UserBulkItemResultDTO[] results = new UserBulkItemResultDTO[users.size()];
+        Set<String> seenUsernames = new HashSet<>();
+        Set<String> seenEmails = new HashSet<>();
+        List<Item> chunk = new ArrayList<>(chunkSize);
+
+        for (int i = 0; i < users.size(); i++) {
+            UserProvisionDTO user = users.get(i);
+            String error = validate(user);
+            if (error == null && !seenUsernames.add(user.getUsername())) {
+                error = "Duplicate username in request: " + user.getUsername();
+            }
+            if (error == null && !seenEmails.add(user.getEmail())) {
+                error = "Duplicate email in request: " + user.getEmail();
+            }
+            if (error != null) {
+                results[i] = UserBulkItemResultDTO.failed(i, user == null ? null : user.getUsername(), error);
+                continue;
+            }
+            chunk.add(new Item(i, user));
+            if (chunk.size() == chunkSize) {
+                persistChunk(chunk, results);
+                chunk.clear();
+            }
+        }
+        if (!chunk.isEmpty()) {
+            persistChunk(chunk, results);
+        }
+
+        int created = 0;
+        for (UserBulkItemResultDTO result : results) {
+            if (result.getId() != null) {
+                created++;
+            }
+        }
+        return new UserBulkResultDTO(created, results.length - created, List.of(results));
+    }
+
+    private void persistChunk(List<Item> chunk, UserBulkItemResultDTO[] results) {
+        List<Item> accepted = new ArrayList<>(chunk.size());
+        try {
+            Set<String> takenUsernames = userRepository.findExistingUsernames(
+                chunk.stream().map(item -> item.user().getUsername()).collect(Collectors.toList()));
+            Set<String> takenEmails = userRepository.findExistingEmails(
+                chunk.stream().map(item -> item.user().getEmail()).collect(Collectors.toList()));
+            for (Item item : chunk) {
+                UserProvisionDTO user = item.user();
+                if (takenUsernames.contains(user.getUsername())) {
+                    results[item.index()] = UserBulkItemResultDTO.failed(item.index(), user.getUsername(),
+                        "Username is already taken");
+                } else if (takenEmails.contains(user.getEmail())) {
+                    results[item.index()] = UserBulkItemResultDTO.failed(item.index(), user.getUsername(),
+                        "Email is already in use");
+                } else {
+                    accepted.add(item);
+                }
+            }
+            if (accepted.isEmpty()) {
+                return;
+            }
+
+            // Hash outside the transaction so no connection is held while BCrypt runs;
+            // a user registered meanwhile fails the chunk on the unique constraints
+            List<String> hashes = passwordEncoder.encodeAll(
+                accepted.stream().map(item -> item.user().getPassword()).toList());
+
+            transactionTemplate.executeWithoutResult(status -> {
+                List<User> pending = new ArrayList<>(accepted.size());
+                for (int i = 0; i < accepted.size(); i++) {
+                    pending.add(toEntity(accepted.get(i).user(), hashes.get(i)));
+                    entityManager.persist(pending.get(i));
+                }
+                // One batched INSERT for the chunk, then drop the managed copies
+                entityManager.flush();
+                for (int i = 0; i < accepted.size(); i++) {
+                    Item item = accepted.get(i);
+                    results[item.index()] = UserBulkItemResultDTO.created(item.index(), item.user().getUsername(),
+                        pending.get(i).getId());
+                }
+                entityManager.clear();
+            });
+        } catch (RuntimeException e) {
+            log.warn("Bulk user chunk of {} items failed", chunk.size(), e);
+            for (Item item : chunk) {
+                if (results[item.index()] != null && results[item.index()].getId() == null) {
+                    continue;
+                }
+                results[item.index()] = UserBulkItemResultDTO.failed(item.index(), item.user().getUsername(),
+                    "Chunk rolled back: " + e.getMessage());
+            }
+        }
+    }
+
+    private static User toEntity(UserProvisionDTO dto, String passwordHash) {
+        User user = new User();
+        user.setUsername(dto.getUsername());
+        user.setEmail(dto.getEmail());
+        user.setPassword(passwordHash);
+        user.setFirstName(dto.getFirstName());
+        user.setLastName(dto.getLastName());
+        user.setRole(dto.getRole() == null ? "ROLE_USER" : dto.getRole());
+        user.setEnabled(true);
+        return user;
+    }
+
+    private String validate(UserProvisionDTO user) {
+        if (user == null) {
+            return "Item is empty";
+        }
+        Set<ConstraintViolation<UserProvisionDTO>> violations = validator.validate(user);
+        if (violations.isEmpty()) {
+            return null;
+        }
+        return violations.stream()
+            .map(ConstraintViolation::getMessage)
+            .sorted()
+            .collect(Collectors.joining("; "));
+    }
+}
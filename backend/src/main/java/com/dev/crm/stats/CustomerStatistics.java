@@ -0,0 +1,349 @@
+package com.dev.crm.stats;
+
+import com.dev.crm.dto.CustomerDTO;
+import com.dev.crm.dto.CustomerStatsDTO;
+import com.dev.crm.event.CustomerChangedEvent;
+import com.dev.crm.repository.CustomerRepository;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.temporal.TemporalAdjusters;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * In-memory customer aggregates for the dashboard: total, per company, created per day.
+ * Seeded with two GROUP BY queries at startup, then maintained from CustomerChangedEvent
+ * after commit with striped counters (LongAdder), and periodically rebuilt from the
+ * database to correct any drift. Commits pass a gate that a rebuild closes while it fixes
+ * its snapshot, so it replays exactly the changes committed after the snapshot. Reads are served from a snapshot rebuilt at most once per
+ * snapshot interval, so the endpoint cost does not depend on the table size.
+ */
+@Slf4j
+@Component
+public class CustomerStatistics {
+
+    private static final String NO_COMPANY = "";
+    private static final Comparator<Map.Entry<String, Long>> BY_COUNT =
+        Map.Entry.<String, Long>comparingByValue().thenComparing(Map.Entry.comparingByKey(Comparator.reverseOrder()));
+
+    private final CustomerRepository customerRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final ScheduledExecutorService reconciler;
+
+    @Value("${app.customers.stats.reconcile-minutes:60}")
+    private long reconcileMinutes;
+
+    @Value("${app.customers.stats.snapshot-ms:1000}")
+    private long snapshotMs;
+
+    @Value("${app.customers.stats.top-companies:20}")
+    private int topCompanies;
+
+    @Value("${app.customers.stats.days:30}")
+    private int days;
+
+    @Value("${app.customers.stats.weeks:12}")
+    private int weeks;
+
+    // Swapped as a whole by reconciliation; events update it under the read lock
+    private volatile Counters counters = new Counters();
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    // Held (shared) by each transaction from before its commit until it completes,
+    // and exclusively by a reconciliation while it fixes its snapshot
+    private final ReadWriteLock commitGate = new ReentrantReadWriteLock();
+    // Changes committed after the running reconciliation's snapshot, replayed onto its result;
+    // null when none runs
+    private volatile Queue<CustomerChangedEvent> duringReconcile;
+    private volatile LocalDateTime reconciledAt;
+
+    private volatile CustomerStatsDTO snapshot;
+    private volatile long snapshotTakenAt;
+
+    private static final class Counters {
+        private final LongAdder total = new LongAdder();
+        // Plain counts changed with merge, so a company whose count reaches zero is removed atomically
+        private final Map<String, Long> byCompany = new ConcurrentHashMap<>();
+        private final Map<LocalDate, LongAdder> byDay = new ConcurrentHashMap<>();
+
+        void add(CustomerDTO customer, int delta) {
+            total.add(delta);
+            company(customer.getCompanyName(), delta);
+            if (customer.getCreatedAt() != null) {
+                byDay.computeIfAbsent(customer.getCreatedAt().toLocalDate(), day -> new LongAdder()).add(delta);
+            }
+        }
+
+        void company(String name, long delta) {
+            byCompany.merge(name == null ? NO_COMPANY : name, delta, (count, change) -> {
+                long sum = count + change;
+                return sum == 0 ? null : sum;
+            });
+        }
+
+        void apply(CustomerChangedEvent event) {
+            switch (event.type()) {
+                case CREATED -> add(event.customer(), 1);
+                case DELETED -> {
+                    if (event.previous() != null) {
+                        add(event.previous(), -1);
+                    } else {
+                        total.decrement();
+                    }
+                }
+                case UPDATED -> {
+                    // Only the company can move; creation day is immutable
+                    if (event.previous() != null) {
+                        company(event.previous().getCompanyName(), -1);
+                        company(event.customer().getCompanyName(), 1);
+                    }
+                }
+            }
+        }
+    }
+
+    public CustomerStatistics(CustomerRepository customerRepository, PlatformTransactionManager transactionManager) {
+        this.customerRepository = customerRepository;
+        // Not read-only: a lagging replica would miss events that are not replayed.
+        // Serializable: both GROUP BY queries read the snapshot fixed behind the commit gate
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setIsolationLevel(TransactionDefinition.ISOLATION_SERIALIZABLE);
+        this.reconciler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "customer-stats-reconcile");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        reconciler.scheduleWithFixedDelay(this::reconcile, 0, reconcileMinutes, TimeUnit.MINUTES);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        reconciler.shutdownNow();
+    }
+
+    // Synchronous, like the outbox: collected in the publisher's transaction and applied after it commits
+    @EventListener
+    public void onCustomerChanged(CustomerChangedEvent event) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            return;
+        }
+        PendingEvents pending = (PendingEvents) TransactionSynchronizationManager.getResource(this);
+        if (pending == null) {
+            pending = new PendingEvents();
+            TransactionSynchronizationManager.bindResource(this, pending);
+            TransactionSynchronizationManager.registerSynchronization(pending);
+        }
+        pending.events.add(event);
+    }
+
+    /**
+     * One transaction's events. The commit gate is held from just before the commit until
+     * completion, so a reconciliation's snapshot either contains this commit or its
+     * replay queue receives the events.
+     */
+    private final class PendingEvents implements TransactionSynchronization {
+        private final List<CustomerChangedEvent> events = new ArrayList<>();
+        private boolean gated;
+        private Queue<CustomerChangedEvent> replay;
+
+        @Override
+        public void beforeCommit(boolean readOnly) {
+            commitGate.readLock().lock();
+            gated = true;
+            replay = duringReconcile;
+        }
+
+        @Override
+        public void afterCommit() {
+            lock.readLock().lock();
+            try {
+                for (CustomerChangedEvent event : events) {
+                    counters.apply(event);
+                }
+                if (replay != null) {
+                    replay.addAll(events);
+                }
+            } finally {
+                lock.readLock().unlock();
+            }
+        }
+
+        @Override
+        public void afterCompletion(int status) {
+            TransactionSynchronizationManager.unbindResourceIfPossible(CustomerStatistics.this);
+            if (gated) {
+                commitGate.readLock().unlock();
+            }
+        }
+    }
+
+    /**
+     * Rebuild the counters from the database and swap them in
+     */
+    public void reconcile() {
+        try {
+            long start = System.nanoTime();
+            Counters fresh = transactionTemplate.execute(status -> {
+                // Waits for commits in flight, which the snapshot then contains; later ones are replayed
+                commitGate.writeLock().lock();
+                try {
+                    customerRepository.startSnapshot();
+                    duringReconcile = new ConcurrentLinkedQueue<>();
+                } finally {
+                    commitGate.writeLock().unlock();
+                }
+                return load();
+            });
+
+            lock.writeLock().lock();
+            try {
+                // Commits applied after this swap land on the fresh counters directly
+                Queue<CustomerChangedEvent> replay = duringReconcile;
+                duringReconcile = null;
+                CustomerChangedEvent event;
+                while ((event = replay.poll()) != null) {
+                    fresh.apply(event);
+                }
+                long drift = fresh.total.sum() - counters.total.sum();
+                if (reconciledAt != null && drift != 0) {
+                    log.warn("Customer statistics drifted by {} customers, corrected", drift);
+                }
+                counters = fresh;
+            } finally {
+                lock.writeLock().unlock();
+            }
+            reconciledAt = LocalDateTime.now();
+            snapshot = null;
+            log.info("Customer statistics reconciled in {} ms", (System.nanoTime() - start) / 1_000_000);
+        } catch (RuntimeException e) {
+            duringReconcile = null;
+            log.warn("Customer statistics reconciliation failed", e);
+        }
+    }
+
+    private Counters load() {
+        Counters fresh = new Counters();
+        for (Object[] row : customerRepository.countByCompany()) {
+            long count = ((Number) row[1]).longValue();
+            fresh.company((String) row[0], count);
+            fresh.total.add(count);
+        }
+        for (Object[] row : customerRepository.countByCreatedDay()) {
+            LocalDate day = toDay(row[0]);
+            if (day != null) {
+                fresh.byDay.computeIfAbsent(day, key -> new LongAdder()).add(((Number) row[1]).longValue());
+            }
+        }
+        return fresh;
+    }
+
+    // Dialects differ in what extract(date ...) hands back; grouping finer than a day still sums correctly
+    private static LocalDate toDay(Object value) {
+        if (value == null) {
+            return null;
+        }
+        if (value instanceof LocalDate day) {
+            return day;
+        }
+        if (value instanceof LocalDateTime time) {
+            return time.toLocalDate();
+        }
+        if (value instanceof java.sql.Timestamp time) {
+            return time.toLocalDateTime().toLocalDate();
+        }
+        if (value instanceof java.sql.Date date) {
+            return date.toLocalDate();
+        }
+        return LocalDate.parse(value.toString().substring(0, 10));
+    }
+
+    /**
+     * Current statistics; rebuilt from the counters at most once per snapshot interval
+     */
+    public CustomerStatsDTO getStats() {
+        CustomerStatsDTO current = snapshot;
+        if (current != null && System.currentTimeMillis() - snapshotTakenAt < snapshotMs) {
+            return current;
+        }
+        current = buildSnapshot(counters);
+        snapshot = current;
+        snapshotTakenAt = System.currentTimeMillis();
+        return current;
+    }
+
+    private CustomerStatsDTO buildSnapshot(Counters source) {
+        // One pass with a heap of the current top N (smallest on top) instead of sorting every company
+        PriorityQueue<Map.Entry<String, Long>> top = new PriorityQueue<>(topCompanies + 1, BY_COUNT);
+        long companies = 0;
+        for (Map.Entry<String, Long> entry : source.byCompany.entrySet()) {
+            if (entry.getValue() <= 0) {
+                continue;
+            }
+            companies++;
+            Map.Entry<String, Long> candidate = Map.entry(entry.getKey(), entry.getValue());
+            if (top.size() < topCompanies) {
+                top.add(candidate);
+            } else if (topCompanies > 0 && BY_COUNT.compare(candidate, top.peek()) > 0) {
+                top.poll();
+                top.add(candidate);
+            }
+        }
+        List<Map.Entry<String, Long>> ranked = new ArrayList<>(top);
+        ranked.sort(BY_COUNT.reversed());
+        Map<String, Long> byCompany = new LinkedHashMap<>();
+        ranked.forEach(entry -> byCompany.put(entry.getKey(), entry.getValue()));
+
+        LocalDate today = LocalDate.now();
+        Map<LocalDate, Long> perDay = new LinkedHashMap<>();
+        for (LocalDate day = today.minusDays(days - 1L); !day.isAfter(today); day = day.plusDays(1)) {
+            perDay.put(day, countOn(source, day));
+        }
+
+        Map<LocalDate, Long> perWeek = new LinkedHashMap<>();
+        LocalDate thisWeek = today.with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY));
+        for (LocalDate week = thisWeek.minusWeeks(weeks - 1L); !week.isAfter(thisWeek); week = week.plusWeeks(1)) {
+            long count = 0;
+            for (int i = 0; i < 7; i++) {
+                count += countOn(source, week.plusDays(i));
+            }
+            perWeek.put(week, count);
+        }
+
+        return new CustomerStatsDTO(source.total.sum(), companies, byCompany, perDay, perWeek,
+            LocalDateTime.now(), reconciledAt);
+    }
+
+    private static long countOn(Counters source, LocalDate day) {
+        LongAdder count = source.byDay.get(day);
+        return count == null ? 0 : count.sum();
+    }
+}
@@ -0,0 +1,286 @@
+package com.dev.crm.perf;
+
+import com.dev.crm.dto.CustomerBulkItemResultDTO;
+import com.dev.crm.dto.CustomerBulkResultDTO;
+import com.dev.crm.dto.CustomerCreateDTO;
+import com.dev.crm.entity.User;
+import com.dev.crm.repository.UserRepository;
+import com.dev.crm.service.CustomerBulkService;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.context.ActiveProfiles;
+import tools.jackson.databind.JsonNode;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.io.File;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * End-to-end load test over HTTP against an embedded database: seeds customers and users,
+ * drives a weighted mix of login, list, get, create, patch and delete from concurrent
+ * clients, then reports throughput and p50/p99/p999 latency per operation.
+ * Fails when an operation errors too often or regresses against src/perf/baseline.json.
+ * Run with mvn -Pperf test; settings are the perf.* properties in application-perf.properties.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@ActiveProfiles("perf")
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class CustomerLoadTest {
+
+    private static final String PASSWORD = "LoadTest123!";
+    private static final int SEED_CHUNK = 1000;
+
+    @Value("${local.server.port}")
+    private int port;
+
+    @Value("${perf.customers}")
+    private int customerCount;
+
+    @Value("${perf.users}")
+    private int userCount;
+
+    @Value("${perf.clients}")
+    private int clients;
+
+    @Value("${perf.warmup-seconds}")
+    private long warmupSeconds;
+
+    @Value("${perf.duration-seconds}")
+    private long durationSeconds;
+
+    @Value("${perf.mix}")
+    private String mix;
+
+    @Value("${perf.max-error-percent}")
+    private double maxErrorPercent;
+
+    @Value("${perf.max-regression-percent}")
+    private double maxRegressionPercent;
+
+    @Value("${perf.baseline}")
+    private String baselinePath;
+
+    @Value("${perf.report}")
+    private String reportPath;
+
+    @Autowired
+    private CustomerBulkService customerBulkService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private PasswordEncoder passwordEncoder;
+
+    @Autowired
+    private JsonMapper jsonMapper;
+
+    private final HttpClient http = HttpClient.newBuilder()
+        .version(HttpClient.Version.HTTP_1_1)
+        .connectTimeout(Duration.ofSeconds(5))
+        .build();
+
+    private long[] customerIds;
+
+    // Per-client state: its token and the customers it created (and may patch or delete)
+    private static final class Session {
+        final int client;
+        final String username;
+        final Deque<Long> created = new ArrayDeque<>();
+        String token;
+        long sequence;
+
+        Session(int client, String username) {
+            this.client = client;
+            this.username = username;
+        }
+    }
+
+    @BeforeAll
+    void seed() {
+        long start = System.nanoTime();
+        List<Long> ids = new ArrayList<>(customerCount);
+        for (int from = 0; from < customerCount; from += SEED_CHUNK) {
+            List<CustomerCreateDTO> chunk = new ArrayList<>(SEED_CHUNK);
+            for (int i = from; i < Math.min(customerCount, from + SEED_CHUNK); i++) {
+                chunk.add(new CustomerCreateDTO("First" + i, "Last" + i, "seed" + i + "@example.com",
+                    "+1 555 " + (1_000_000 + i), "Company " + (i % 500), "Seeded for the load test"));
+            }
+            CustomerBulkResultDTO result = customerBulkService.bulkCreateCustomers(chunk);
+            for (CustomerBulkItemResultDTO item : result.getResults()) {
+                if (item.getId() != null) {
+                    ids.add(item.getId());
+                }
+            }
+        }
+        customerIds = ids.stream().mapToLong(Long::longValue).toArray();
+
+        // One hash for every seeded user; hashing is measured through LOGIN, not while seeding
+        String hash = passwordEncoder.encode(PASSWORD);
+        List<User> users = new ArrayList<>(userCount);
+        for (int i = 0; i < userCount; i++) {
+            User user = new User();
+            user.setUsername("load" + i);
+            user.setEmail("load" + i + "@example.com");
+            user.setPassword(hash);
+            user.setFirstName("Load");
+            user.setLastName("User" + i);
+            users.add(user);
+        }
+        userRepository.saveAll(users);
+
+        System.out.printf("Seeded %d customers and %d users in %d ms%n",
+            customerIds.length, userCount, TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+    }
+
+    @Test
+    void mixedWorkload() throws Exception {
+        Operation[] schedule = schedule(mix);
+        LoadReport report = new LoadReport();
+        long measureFrom = System.nanoTime() + TimeUnit.SECONDS.toNanos(warmupSeconds);
+        long end = measureFrom + TimeUnit.SECONDS.toNanos(durationSeconds);
+
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < clients; i++) {
+                Session session = new Session(i, "load" + (i % userCount));
+                executor.submit(() -> runClient(session, schedule, report, measureFrom, end));
+            }
+        }
+
+        Map<String, LoadReport.Summary> summaries = report.summarize(durationSeconds);
+        File reportFile = new File(reportPath);
+        File baselineFile = new File(baselinePath);
+        System.out.printf("%d clients, %d s measured after %d s warm-up%n", clients, durationSeconds, warmupSeconds);
+        System.out.print(LoadReport.format(summaries));
+        LoadReport.write(jsonMapper, summaries, reportFile);
+
+        List<String> failures = new ArrayList<>(LoadReport.errorFailures(summaries, maxErrorPercent));
+        if (baselineFile.isFile()) {
+            failures.addAll(LoadReport.regressions(
+                LoadReport.read(jsonMapper, baselineFile), summaries, maxRegressionPercent));
+        } else {
+            System.out.printf("No baseline at %s; copy %s there to record one%n", baselineFile, reportFile);
+        }
+        assertThat(failures).isEmpty();
+    }
+
+    private void runClient(Session session, Operation[] schedule, LoadReport report, long measureFrom, long end) {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        execute(Operation.LOGIN, session, random);
+        long now;
+        while ((now = System.nanoTime()) < end) {
+            Operation operation = schedule[random.nextInt(schedule.length)];
+            if ((operation == Operation.PATCH || operation == Operation.DELETE) && session.created.isEmpty()) {
+                operation = Operation.CREATE;
+            }
+            boolean ok = execute(operation, session, random);
+            long elapsed = System.nanoTime() - now;
+            if (now >= measureFrom) {
+                if (ok) {
+                    report.recordSuccess(operation, elapsed);
+                } else {
+                    report.recordError(operation);
+                }
+            }
+        }
+    }
+
+    private boolean execute(Operation operation, Session session, ThreadLocalRandom random) {
+        try {
+            HttpResponse<String> response = http.send(request(operation, session, random),
+                HttpResponse.BodyHandlers.ofString());
+            if (response.statusCode() != operation.expectedStatus()) {
+                return false;
+            }
+            switch (operation) {
+                case LOGIN -> session.token = jsonMapper.readTree(response.body()).path("token").asString();
+                case CREATE -> session.created.addLast(jsonMapper.readTree(response.body()).path("id").asLong());
+                case DELETE -> session.created.removeFirst();
+                default -> { }
+            }
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        } catch (Exception e) {
+            return false;
+        }
+    }
+
+    private HttpRequest request(Operation operation, Session session, ThreadLocalRandom random) {
+        return switch (operation) {
+            case LOGIN -> post("/api/auth/login", null,
+                "{\"username\":\"" + session.username + "\",\"password\":\"" + PASSWORD + "\"}");
+            case LIST -> get("/api/customers?size=20", session.token);
+            case GET -> get("/api/customers/" + customerIds[random.nextInt(customerIds.length)], session.token);
+            case CREATE -> {
+                String email = "client" + session.client + "-" + session.sequence++ + "@example.com";
+                yield post("/api/customers", session.token,
+                    "{\"firstName\":\"Load\",\"lastName\":\"Created\",\"email\":\"" + email
+                        + "\",\"companyName\":\"Load Test Inc\",\"notes\":\"Created by the load test\"}");
+            }
+            case PATCH -> builder("/api/customers/" + session.created.peekLast(), session.token)
+                .method("PATCH", HttpRequest.BodyPublishers.ofString(
+                    "{\"notes\":\"Patched at " + System.nanoTime() + "\"}"))
+                .build();
+            case DELETE -> builder("/api/customers/" + session.created.peekFirst(), session.token).DELETE().build();
+        };
+    }
+
+    private HttpRequest get(String path, String token) {
+        return builder(path, token).GET().build();
+    }
+
+    private HttpRequest post(String path, String token, String body) {
+        return builder(path, token).POST(HttpRequest.BodyPublishers.ofString(body)).build();
+    }
+
+    private HttpRequest.Builder builder(String path, String token) {
+        HttpRequest.Builder builder = HttpRequest.newBuilder(URI.create("http://localhost:" + port + path))
+            .timeout(Duration.ofSeconds(30))
+            .header("Content-Type", "application/json");
+        if (token != null) {
+            builder.header("Authorization", "Bearer " + token);
+        }
+        return builder;
+    }
+
+    /**
+     * Weights such as "login:2,list:30" expanded into a table drawn from uniformly
+     */
+    private static Operation[] schedule(String mix) {
+        Map<Operation, Integer> weights = new EnumMap<>(Operation.class);
+        for (String entry : mix.split(",")) {
+            String[] parts = entry.trim().split(":");
+            weights.put(Operation.valueOf(parts[0].trim().toUpperCase()), Integer.parseInt(parts[1].trim()));
+        }
+        List<Operation> schedule = new ArrayList<>();
+        weights.forEach((operation, weight) -> {
+            for (int i = 0; i < weight; i++) {
+                schedule.add(operation);
+            }
+        });
+        return schedule.toArray(Operation[]::new);
+    }
+}
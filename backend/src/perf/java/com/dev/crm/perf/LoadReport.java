@@ -0,0 +1,130 @@
+package com.dev.crm.perf;
+
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+import tools.jackson.core.type.TypeReference;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Latency histograms and error counts per operation, recorded concurrently by all clients.
+ * Summaries are written as JSON, so a stored run can serve as the baseline of the next.
+ */
+class LoadReport {
+
+    /**
+     * One operation over the measured window; latencies in milliseconds
+     */
+    record Summary(long count, long errors, double throughput,
+                   double p50Ms, double p99Ms, double p999Ms, double maxMs) {
+
+        double errorPercent() {
+            long total = count + errors;
+            return total == 0 ? 0 : errors * 100.0 / total;
+        }
+    }
+
+    private final Map<Operation, Histogram> latencies = new EnumMap<>(Operation.class);
+    private final Map<Operation, LongAdder> errors = new EnumMap<>(Operation.class);
+
+    LoadReport() {
+        for (Operation operation : Operation.values()) {
+            // Microseconds with three significant digits, resized as needed
+            latencies.put(operation, new ConcurrentHistogram(3));
+            errors.put(operation, new LongAdder());
+        }
+    }
+
+    void recordSuccess(Operation operation, long elapsedNanos) {
+        latencies.get(operation).recordValue(TimeUnit.NANOSECONDS.toMicros(elapsedNanos));
+    }
+
+    void recordError(Operation operation) {
+        errors.get(operation).increment();
+    }
+
+    Map<String, Summary> summarize(double seconds) {
+        Map<String, Summary> summaries = new LinkedHashMap<>();
+        for (Operation operation : Operation.values()) {
+            Histogram histogram = latencies.get(operation);
+            summaries.put(operation.name(), new Summary(
+                histogram.getTotalCount(),
+                errors.get(operation).sum(),
+                histogram.getTotalCount() / seconds,
+                millis(histogram.getValueAtPercentile(50)),
+                millis(histogram.getValueAtPercentile(99)),
+                millis(histogram.getValueAtPercentile(99.9)),
+                millis(histogram.getMaxValue())));
+        }
+        return summaries;
+    }
+
+    static String format(Map<String, Summary> summaries) {
+        StringBuilder out = new StringBuilder(String.format("%-8s %10s %8s %10s %10s %10s %10s %10s%n",
+            "op", "count", "errors", "ops/s", "p50 ms", "p99 ms", "p999 ms", "max ms"));
+        summaries.forEach((operation, s) -> out.append(String.format(
+            "%-8s %10d %8d %10.1f %10.2f %10.2f %10.2f %10.2f%n",
+            operation, s.count(), s.errors(), s.throughput(), s.p50Ms(), s.p99Ms(), s.p999Ms(), s.maxMs())));
+        return out.toString();
+    }
+
+    static void write(JsonMapper jsonMapper, Map<String, Summary> summaries, File file) {
+        file.getAbsoluteFile().getParentFile().mkdirs();
+        jsonMapper.writerWithDefaultPrettyPrinter().writeValue(file, summaries);
+    }
+
+    static Map<String, Summary> read(JsonMapper jsonMapper, File file) {
+        return jsonMapper.readValue(file, new TypeReference<Map<String, Summary>>() { });
+    }
+
+    /**
+     * Operations whose error rate exceeds the limit
+     */
+    static List<String> errorFailures(Map<String, Summary> summaries, double maxErrorPercent) {
+        List<String> failures = new ArrayList<>();
+        summaries.forEach((operation, s) -> {
+            if (s.errorPercent() > maxErrorPercent) {
+                failures.add(String.format("%s: %.2f%% errors (limit %.2f%%)", operation, s.errorPercent(), maxErrorPercent));
+            }
+        });
+        return failures;
+    }
+
+    /**
+     * Operations that lost throughput or gained p99 latency beyond the allowed percentage.
+     * Operations absent from, or idle in, either run are not compared.
+     */
+    static List<String> regressions(Map<String, Summary> baseline, Map<String, Summary> current,
+                                    double maxRegressionPercent) {
+        List<String> failures = new ArrayList<>();
+        current.forEach((operation, now) -> {
+            Summary before = baseline.get(operation);
+            if (before == null || before.count() == 0 || now.count() == 0) {
+                return;
+            }
+            double throughputChange = (now.throughput() - before.throughput()) / before.throughput() * 100;
+            if (throughputChange < -maxRegressionPercent) {
+                failures.add(String.format("%s: throughput %.1f -> %.1f ops/s (%.1f%%)",
+                    operation, before.throughput(), now.throughput(), throughputChange));
+            }
+            double p99Change = (now.p99Ms() - before.p99Ms()) / before.p99Ms() * 100;
+            if (p99Change > maxRegressionPercent) {
+                failures.add(String.format("%s: p99 %.2f -> %.2f ms (+%.1f%%)",
+                    operation, before.p99Ms(), now.p99Ms(), p99Change));
+            }
+        });
+        return failures;
+    }
+
+    private static double millis(long micros) {
+        return micros / 1000.0;
+    }
+}
@@ -0,0 +1,23 @@
+package com.dev.crm.perf;
+
+/**
+ * Requests the simulated clients make, with the status a successful one answers
+ */
+enum Operation {
+    LOGIN(200),
+    LIST(200),
+    GET(200),
+    CREATE(201),
+    PATCH(200),
+    DELETE(204);
+
+    private final int expectedStatus;
+
+    Operation(int expectedStatus) {
+        this.expectedStatus = expectedStatus;
+    }
+
+    int expectedStatus() {
+        return expectedStatus;
+    }
+}
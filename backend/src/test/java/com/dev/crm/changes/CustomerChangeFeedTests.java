@@ -0,0 +1,90 @@
+package com.dev.crm.changes;
+
+import com.dev.crm.entity.CustomerChange;
+import com.dev.crm.event.CustomerChangedEvent;
+import com.dev.crm.repository.CustomerChangeRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Limit;
+import org.springframework.test.util.ReflectionTestUtils;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+class CustomerChangeFeedTests {
+
+    private final CustomerChangeRepository repository = mock(CustomerChangeRepository.class);
+    private final CustomerChangeFeed feed = new CustomerChangeFeed(repository, JsonMapper.builder().build(), 1);
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(feed, "settleSeconds", 5L);
+        ReflectionTestUtils.setField(feed, "pollPageSize", 2);
+        ReflectionTestUtils.setField(feed, "subscriberBuffer", 100);
+        ReflectionTestUtils.setField(feed, "emitterTimeoutMs", 60_000L);
+    }
+
+    @AfterEach
+    void tearDown() {
+        feed.shutdown();
+    }
+
+    @Test
+    void pollWithoutSubscribersRunsNoQuery() {
+        poll();
+
+        verifyNoInteractions(repository);
+    }
+
+    @Test
+    void pollReadsNewRowsByPageAndOnlyUnsentLateRows() throws Exception {
+        LocalDateTime now = LocalDateTime.now();
+        when(repository.findMaxId()).thenReturn(10L);
+        when(repository.findRecentIds(any())).thenReturn(List.<Object[]>of(new Object[]{9L, now}));
+        subscribe();
+
+        // Id 8 committed late below the head; 9 was in the outbox before the subscriber came
+        when(repository.findRecentIds(any())).thenReturn(List.of(new Object[]{8L, now}, new Object[]{9L, now}));
+        when(repository.findAllById(List.of(8L))).thenReturn(List.of(change(8, now)));
+        when(repository.findByIdGreaterThanOrderById(10L, Limit.of(2))).thenReturn(List.of(change(11, now), change(12, now)));
+        when(repository.findByIdGreaterThanOrderById(12L, Limit.of(2))).thenReturn(List.of(change(13, now)));
+        poll();
+
+        verify(repository).findAllById(List.of(8L));
+        verify(repository).findByIdGreaterThanOrderById(12L, Limit.of(2));
+
+        // Nothing new: the late row is not read again and the head moves on from 13
+        when(repository.findRecentIds(any())).thenReturn(List.of(new Object[]{8L, now}, new Object[]{13L, now}));
+        when(repository.findByIdGreaterThanOrderById(13L, Limit.of(2))).thenReturn(List.of());
+        poll();
+
+        verify(repository).findAllById(anyList());
+        verify(repository).findByIdGreaterThanOrderById(13L, Limit.of(2));
+    }
+
+    private void subscribe() throws Exception {
+        feed.subscribe(null);
+        // Registration runs on the poller thread; wait for it
+        ExecutorService poller = (ExecutorService) ReflectionTestUtils.getField(feed, "poller");
+        poller.submit(() -> { }).get(5, TimeUnit.SECONDS);
+    }
+
+    private void poll() {
+        ReflectionTestUtils.invokeMethod(feed, "poll");
+    }
+
+    private static CustomerChange change(long id, LocalDateTime changedAt) {
+        return new CustomerChange(id, 1L, CustomerChangedEvent.Type.DELETED, null, changedAt);
+    }
+}
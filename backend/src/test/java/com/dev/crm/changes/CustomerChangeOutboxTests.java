@@ -0,0 +1,80 @@
+package com.dev.crm.changes;
+
+import com.dev.crm.dto.CustomerDTO;
+import com.dev.crm.entity.CustomerChange;
+import com.dev.crm.event.CustomerChangedEvent;
+import com.dev.crm.repository.CustomerChangeRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+
+class CustomerChangeOutboxTests {
+
+    private final CustomerChangeRepository repository = mock(CustomerChangeRepository.class);
+    private final CustomerChangeOutbox outbox = new CustomerChangeOutbox(repository, JsonMapper.builder().build());
+
+    @AfterEach
+    void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+        TransactionSynchronizationManager.unbindResourceIfPossible(outbox);
+    }
+
+    @Test
+    void insertsOnceBeforeCommitStampedWithInsertTime() throws InterruptedException {
+        TransactionSynchronizationManager.initSynchronization();
+        outbox.onCustomerChanged(CustomerChangedEvent.created(customer(1L)));
+        outbox.onCustomerChanged(CustomerChangedEvent.deleted(customer(2L)));
+        verifyNoInteractions(repository);
+
+        // A slow transaction: the rows must carry the commit time, not the publish time
+        Thread.sleep(20);
+        LocalDateTime commitStarted = LocalDateTime.now();
+        List<LocalDateTime> stamped = new ArrayList<>();
+        doAnswer(invocation -> {
+            List<CustomerChange> changes = invocation.getArgument(0);
+            changes.forEach(change -> stamped.add(change.getChangedAt()));
+            return null;
+        }).when(repository).insertAll(anyList());
+
+        for (TransactionSynchronization synchronization : TransactionSynchronizationManager.getSynchronizations()) {
+            synchronization.beforeCommit(false);
+        }
+
+        assertThat(stamped).hasSize(2).allSatisfy(changedAt -> assertThat(changedAt).isAfterOrEqualTo(commitStarted));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void insertsImmediatelyOutsideTransactions() {
+        LocalDateTime before = LocalDateTime.now();
+        outbox.onCustomerChanged(CustomerChangedEvent.created(customer(3L)));
+
+        ArgumentCaptor<List<CustomerChange>> inserted = ArgumentCaptor.forClass(List.class);
+        verify(repository).insertAll(inserted.capture());
+        CustomerChange change = inserted.getValue().get(0);
+        assertThat(change.getCustomerId()).isEqualTo(3L);
+        assertThat(change.getType()).isEqualTo(CustomerChangedEvent.Type.CREATED);
+        assertThat(change.getChangedAt()).isAfterOrEqualTo(before);
+    }
+
+    private static CustomerDTO customer(Long id) {
+        return new CustomerDTO(id, "Jane", "Doe", "jane" + id + "@example.com", null, "Acme", null,
+            LocalDateTime.now(), LocalDateTime.now());
+    }
+}
@@ -0,0 +1,37 @@
+package com.dev.crm.controller;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class AcceptEncodingTests {
+
+    @Test
+    void acceptsListedGzip() {
+        assertThat(AcceptEncoding.acceptsGzip(new String[] {"gzip, deflate, br"})).isTrue();
+        assertThat(AcceptEncoding.acceptsGzip(new String[] {"br;q=1.0, GZIP;q=0.5"})).isTrue();
+        assertThat(AcceptEncoding.acceptsGzip(new String[] {"x-gzip"})).isTrue();
+    }
+
+    @Test
+    void refusesGzipWithZeroQuality() {
+        assertThat(AcceptEncoding.acceptsGzip(new String[] {"gzip;q=0"})).isFalse();
+        assertThat(AcceptEncoding.acceptsGzip(new String[] {"gzip ; q=0.000, identity"})).isFalse();
+        assertThat(AcceptEncoding.acceptsGzip(new String[] {"*, gzip;q=0"})).isFalse();
+        assertThat(AcceptEncoding.acceptsGzip(new String[] {"gzip;q=abc"})).isFalse();
+    }
+
+    @Test
+    void wildcardCoversUnlistedGzip() {
+        assertThat(AcceptEncoding.acceptsGzip(new String[] {"br, *;q=0.1"})).isTrue();
+        assertThat(AcceptEncoding.acceptsGzip(new String[] {"br, *;q=0"})).isFalse();
+    }
+
+    @Test
+    void readsEveryHeader() {
+        assertThat(AcceptEncoding.acceptsGzip(new String[] {"br", "gzip"})).isTrue();
+        assertThat(AcceptEncoding.acceptsGzip(new String[] {"identity"})).isFalse();
+        assertThat(AcceptEncoding.acceptsGzip(new String[] {""})).isFalse();
+        assertThat(AcceptEncoding.acceptsGzip(null)).isFalse();
+    }
+}
@@ -0,0 +1,39 @@
+package com.dev.crm.datasource;
+
+import com.dev.crm.exception.DatabaseBusyException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class DatabaseBulkheadTests {
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private final DatabaseBulkhead bulkhead = new DatabaseBulkhead(true, 1, 10, "HikariPoolTest", registry);
+
+    @Test
+    void publishesPermitsInUseAndWait() throws Exception {
+        bulkhead.acquire();
+        bulkhead.recordWait(TimeUnit.MILLISECONDS.toNanos(4));
+
+        assertThat(registry.get("crm.db.bulkhead.active").tag("pool", "HikariPoolTest").gauge().value()).isEqualTo(1.0);
+        assertThat(registry.get("crm.db.bulkhead.queue").gauge().value()).isZero();
+        assertThat(registry.get("crm.db.bulkhead.wait").timer().count()).isEqualTo(1);
+        assertThat(registry.get("crm.db.bulkhead.wait").timer().totalTime(TimeUnit.MILLISECONDS)).isEqualTo(4.0);
+
+        bulkhead.release();
+        assertThat(registry.get("crm.db.bulkhead.active").gauge().value()).isZero();
+    }
+
+    @Test
+    void countsRejectionWhenNoPermitFreesUp() throws Exception {
+        bulkhead.acquire();
+
+        assertThatThrownBy(bulkhead::acquire).isInstanceOf(DatabaseBusyException.class);
+        assertThat(registry.get("crm.db.bulkhead.rejected").counter().count()).isEqualTo(1.0);
+        assertThat(bulkhead.stats()).containsEntry("rejected", 1L);
+    }
+}
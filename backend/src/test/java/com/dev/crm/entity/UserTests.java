@@ -0,0 +1,60 @@
+package com.dev.crm.entity;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class UserTests {
+
+    private final User user = new User();
+
+    @BeforeEach
+    void setUp() {
+        user.setPassword("hash-1");
+        user.setRole("ROLE_USER");
+        user.setEnabled(true);
+        user.setTokenVersion(4);
+        user.onLoad();
+    }
+
+    @Test
+    void passwordRehashKeepsTokenVersion() {
+        user.rehashPassword("hash-1-stronger");
+        user.onUpdate();
+
+        assertThat(user.getTokenVersion()).isEqualTo(4);
+    }
+
+    @Test
+    void profileChangeKeepsTokenVersion() {
+        user.setFirstName("Ada");
+        user.onUpdate();
+
+        assertThat(user.getTokenVersion()).isEqualTo(4);
+    }
+
+    @Test
+    void passwordChangeRaisesTokenVersion() {
+        user.setPassword("hash-2");
+        user.onUpdate();
+
+        assertThat(user.getTokenVersion()).isEqualTo(5);
+    }
+
+    @Test
+    void disablingRaisesTokenVersion() {
+        user.setEnabled(false);
+        user.onUpdate();
+
+        assertThat(user.getTokenVersion()).isEqualTo(5);
+    }
+
+    @Test
+    void roleChangeRaisesTokenVersion() {
+        user.setRole("ROLE_ADMIN");
+        user.onUpdate();
+
+        assertThat(user.getTokenVersion()).isEqualTo(5);
+    }
+}
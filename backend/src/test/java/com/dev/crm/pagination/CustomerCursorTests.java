@@ -0,0 +1,71 @@
+package com.dev.crm.pagination;
+
+import com.dev.crm.exception.BadRequestException;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Base64;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class CustomerCursorTests {
+
+    @Test
+    void roundTripsEverySortKey() {
+        CustomerCursor byId = CustomerCursor.after(CustomerSortField.ID, true, 5L, 5L);
+        CustomerCursor byCreatedAt = CustomerCursor.before(CustomerSortField.CREATED_AT, false, 7L,
+            LocalDateTime.of(2024, 3, 1, 12, 30, 15, 123_000_000));
+        CustomerCursor byLastName = CustomerCursor.after(CustomerSortField.LAST_NAME, false, 9L, "O'Brien");
+
+        assertThat(CustomerCursor.decode(byId.encode())).isEqualTo(byId);
+        assertThat(CustomerCursor.decode(byCreatedAt.encode())).isEqualTo(byCreatedAt);
+        assertThat(CustomerCursor.decode(byLastName.encode())).isEqualTo(byLastName);
+    }
+
+    @Test
+    void keyMayContainTheSeparator() {
+        CustomerCursor cursor = CustomerCursor.before(CustomerSortField.LAST_NAME, true, 3L, "van:der:Berg");
+
+        assertThat(CustomerCursor.decode(cursor.encode()).key()).isEqualTo("van:der:Berg");
+    }
+
+    @Test
+    void tokenIsUrlSafe() {
+        String token = CustomerCursor.after(CustomerSortField.LAST_NAME, true, 42L, "\u00dcnl\u00fc / Smith+Co?").encode();
+
+        assertThat(token).matches("[A-Za-z0-9_-]+");
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"", "not a cursor!", "%%%", "djE"})
+    void rejectsMalformedTokens(String token) {
+        assertThatThrownBy(() -> CustomerCursor.decode(token)).isInstanceOf(BadRequestException.class);
+    }
+
+    @Test
+    void rejectsMissingToken() {
+        assertThatThrownBy(() -> CustomerCursor.decode(null)).isInstanceOf(BadRequestException.class);
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {
+        "v2:id:asc:n:1:1",
+        "v1:id:asc:n:1",
+        "v1:email:asc:n:1:x",
+        "v1:id:up:n:1:1",
+        "v1:id:asc:x:1:1",
+        "v1:id:asc:n:abc:1",
+        "v1:id:asc:n:null:null",
+        "v1:id:asc:n:1:one",
+        "v1:createdAt:desc:p:1:yesterday"
+    })
+    void rejectsTamperedPayloads(String raw) {
+        String token = Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+
+        assertThatThrownBy(() -> CustomerCursor.decode(token)).isInstanceOf(BadRequestException.class);
+    }
+}
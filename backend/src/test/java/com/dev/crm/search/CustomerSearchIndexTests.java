@@ -0,0 +1,94 @@
+package com.dev.crm.search;
+
+import com.dev.crm.dto.CustomerDTO;
+import com.dev.crm.dto.CustomerSummaryDTO;
+import com.dev.crm.event.CustomerChangedEvent;
+import com.dev.crm.mapper.CustomerMapper;
+import com.dev.crm.repository.CustomerRepository;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class CustomerSearchIndexTests {
+
+    private final CustomerMapper customerMapper = mock(CustomerMapper.class);
+    private final CustomerSearchIndex index = new CustomerSearchIndex(mock(CustomerRepository.class),
+        customerMapper, mock(PlatformTransactionManager.class), mock(EntityManager.class));
+
+    @BeforeEach
+    void setUp() {
+        when(customerMapper.toSummary(any())).thenAnswer(invocation -> {
+            CustomerDTO customer = invocation.getArgument(0);
+            return new CustomerSummaryDTO(customer.getId(), customer.getFirstName(), customer.getLastName(),
+                customer.getEmail(), customer.getPhoneNumber(), customer.getCompanyName(),
+                customer.getCreatedAt(), customer.getUpdatedAt());
+        });
+        add(1L, "Ann", "Anderson", "Initech");
+        add(2L, "Annabel", "Lee", "Globex");
+        add(3L, "Max", "Wolfeschlegelsteinhausen", null);
+    }
+
+    @Test
+    void prefixesStartAtTwoCharacters() {
+        assertThat(ids("a")).isEmpty();
+        assertThat(ids("an")).containsExactlyInAnyOrder(1L, 2L);
+        assertThat(ids("glo")).containsExactly(2L);
+    }
+
+    @Test
+    void onlyWordBeginningsMatch() {
+        assertThat(ids("derson")).isEmpty();
+        assertThat(ids("nabel")).isEmpty();
+    }
+
+    @Test
+    void wholeWordRanksAbovePrefix() {
+        assertThat(ids("ann")).containsExactly(1L, 2L);
+        assertThat(ids("annabel")).containsExactly(2L);
+    }
+
+    @Test
+    void longWordsMatchUpToTheLongestGramAndInFull() {
+        // 24 letters: grams stop at 15, so longer query prefixes are looked up by their first 15
+        assertThat(ids("wolfeschlegelst")).containsExactly(3L);
+        assertThat(ids("wolfeschlegelstein")).containsExactly(3L);
+        assertThat(ids("wolfeschlegelsteinhausen")).containsExactly(3L);
+    }
+
+    @Test
+    void everyTermMustMatch() {
+        assertThat(ids("ann lee")).containsExactly(2L);
+        assertThat(ids("ann globex initech")).isEmpty();
+    }
+
+    @Test
+    void deletedCustomerLeavesNoGrams() {
+        index.onCustomerChanged(CustomerChangedEvent.deleted(customer(2L, "Annabel", "Lee", "Globex")));
+
+        assertThat(ids("an")).containsExactly(1L);
+        assertThat(ids("glo")).isEmpty();
+        assertThat(index.size()).isEqualTo(2);
+    }
+
+    private List<Long> ids(String query) {
+        return index.search(query, 10).stream().map(CustomerSummaryDTO::getId).toList();
+    }
+
+    private void add(Long id, String firstName, String lastName, String company) {
+        index.onCustomerChanged(CustomerChangedEvent.created(customer(id, firstName, lastName, company)));
+    }
+
+    private static CustomerDTO customer(Long id, String firstName, String lastName, String company) {
+        return new CustomerDTO(id, firstName, lastName, "c" + id + "@example.com", null, company, null,
+            LocalDateTime.now(), LocalDateTime.now());
+    }
+}
@@ -0,0 +1,35 @@
+package com.dev.crm.search;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SearchTokenizerTests {
+
+    @Test
+    void lowerCasesAndStripsDiacritics() {
+        assertThat(SearchTokenizer.tokenize("Zo\u00eb \u00c5ngstr\u00f6m M\u00dcLLER"))
+            .containsExactly("zoe", "angstrom", "muller");
+    }
+
+    @Test
+    void composedAndDecomposedAccentsGiveTheSameToken() {
+        assertThat(SearchTokenizer.tokenize("Jos\u00e9")).containsExactly("jose");
+        assertThat(SearchTokenizer.tokenize("Jose\u0301")).containsExactly("jose");
+    }
+
+    @Test
+    void splitsOnAnythingButLettersAndDigits() {
+        assertThat(SearchTokenizer.tokenize("jane.doe+crm@example.com"))
+            .containsExactly("jane", "doe", "crm", "example", "com");
+        assertThat(SearchTokenizer.tokenize("  Route 66 -- O'Neil, Inc.  "))
+            .containsExactly("route", "66", "o", "neil", "inc");
+    }
+
+    @Test
+    void noTokensWithoutLettersOrDigits() {
+        assertThat(SearchTokenizer.tokenize(null)).isEmpty();
+        assertThat(SearchTokenizer.tokenize("")).isEmpty();
+        assertThat(SearchTokenizer.tokenize(" .,;-@ ")).isEmpty();
+    }
+}
@@ -0,0 +1,116 @@
+package com.dev.crm.security;
+
+import com.dev.crm.entity.RevokedToken;
+import com.dev.crm.repository.RefreshTokenRepository;
+import com.dev.crm.repository.RevokedTokenRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class TokenRevocationsTests {
+
+    private final RevokedTokenRepository revokedTokenRepository = mock(RevokedTokenRepository.class);
+    private final JwtTokenProvider tokenProvider = mock(JwtTokenProvider.class);
+    private TokenRevocations revocations;
+
+    @BeforeEach
+    void setUp() {
+        when(tokenProvider.getExpirationMs()).thenReturn(900_000L);
+        revocations = new TokenRevocations(revokedTokenRepository, mock(RefreshTokenRepository.class), tokenProvider);
+        ReflectionTestUtils.setField(revocations, "overlapSeconds", 10L);
+        ReflectionTestUtils.setField(revocations, "bucketSeconds", 60L);
+        ReflectionTestUtils.setField(revocations, "bloomBits", 65536);
+        ReflectionTestUtils.setField(revocations, "lastPoll", LocalDateTime.now().minusMinutes(15));
+    }
+
+    @Test
+    void revokedTokenIsRejectedAndOthersAreNot() {
+        Instant expiresAt = Instant.now().plus(10, ChronoUnit.MINUTES);
+        JwtPrincipal revoked = principal(UUID.randomUUID().toString(), expiresAt);
+
+        revocations.revoke(revoked);
+
+        verify(revokedTokenRepository).save(any(RevokedToken.class));
+        assertThat(revocations.isRevoked(revoked)).isTrue();
+        assertThat(revocations.isRevoked(principal(UUID.randomUUID().toString(), expiresAt))).isFalse();
+        // Same jti in another expiry bucket is a different token
+        assertThat(revocations.isRevoked(principal(revoked.tokenId(), expiresAt.plus(1, ChronoUnit.HOURS)))).isFalse();
+    }
+
+    @Test
+    void polledRevocationsFromOtherInstancesApply() {
+        Instant expiresAt = Instant.now().plus(10, ChronoUnit.MINUTES);
+        String jti = UUID.randomUUID().toString();
+        when(revokedTokenRepository.findRevokedSince(any(), any())).thenReturn(List.of(
+            new RevokedToken(jti, LocalDateTime.ofInstant(expiresAt, ZoneId.systemDefault()), LocalDateTime.now())));
+
+        ReflectionTestUtils.invokeMethod(revocations, "poll");
+
+        assertThat(revocations.isRevoked(principal(jti, expiresAt))).isTrue();
+    }
+
+    @Test
+    void expiredBucketsAreDroppedOnPoll() {
+        Map<Long, BloomFilter> buckets = buckets();
+        long current = Instant.now().getEpochSecond() / 60;
+        buckets.put(current - 2, new BloomFilter(64));
+        revocations.revoke(principal(UUID.randomUUID().toString(), Instant.now().plus(10, ChronoUnit.MINUTES)));
+
+        ReflectionTestUtils.invokeMethod(revocations, "poll");
+
+        assertThat(buckets).doesNotContainKey(current - 2).hasSize(1);
+    }
+
+    @Test
+    void alreadyExpiredTokenNeedsNoBucket() {
+        revocations.revoke(principal(UUID.randomUUID().toString(), Instant.now().minusSeconds(1)));
+
+        assertThat(buckets()).isEmpty();
+    }
+
+    @Test
+    void bloomFilterHasNoFalseNegativesAndFewFalsePositives() {
+        BloomFilter filter = new BloomFilter(65536);
+        List<String> added = new ArrayList<>();
+        for (int i = 0; i < 1000; i++) {
+            String jti = UUID.randomUUID().toString();
+            filter.add(jti);
+            added.add(jti);
+        }
+
+        assertThat(added).allMatch(filter::mightContain);
+        long falsePositives = 0;
+        for (int i = 0; i < 10_000; i++) {
+            if (filter.mightContain(UUID.randomUUID().toString())) {
+                falsePositives++;
+            }
+        }
+        // Expected rate at this load is about 1e-5
+        assertThat(falsePositives).isLessThan(10);
+    }
+
+    @SuppressWarnings("unchecked")
+    private Map<Long, BloomFilter> buckets() {
+        return (Map<Long, BloomFilter>) ReflectionTestUtils.getField(revocations, "buckets");
+    }
+
+    private static JwtPrincipal principal(String jti, Instant expiresAt) {
+        return new JwtPrincipal(1L, "tester", "ROLE_USER", jti, 0,
+            Instant.now().truncatedTo(ChronoUnit.SECONDS), expiresAt);
+    }
+}
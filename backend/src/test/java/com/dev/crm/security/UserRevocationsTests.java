@@ -0,0 +1,89 @@
+package com.dev.crm.security;
+
+import com.dev.crm.repository.UserRepository;
+import com.dev.crm.repository.UserStatus;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class UserRevocationsTests {
+
+    private final UserRepository userRepository = mock(UserRepository.class);
+    private final JwtTokenProvider tokenProvider = mock(JwtTokenProvider.class);
+    private UserRevocations revocations;
+
+    @BeforeEach
+    void setUp() {
+        when(tokenProvider.getExpirationMs()).thenReturn(900_000L);
+        revocations = new UserRevocations(userRepository, tokenProvider);
+        ReflectionTestUtils.setField(revocations, "overlapSeconds", 10L);
+        ReflectionTestUtils.setField(revocations, "lastPoll", LocalDateTime.now().minusMinutes(15));
+    }
+
+    @Test
+    void tokenWithOlderVersionIsRevokedEvenInTheSameSecond() {
+        LocalDateTime now = LocalDateTime.now();
+        when(userRepository.findStatusChangedSince(any())).thenReturn(List.of(status(7L, 3, now)));
+        ReflectionTestUtils.invokeMethod(revocations, "poll");
+
+        Instant issuedAt = Instant.now().truncatedTo(ChronoUnit.SECONDS);
+        assertThat(revocations.isRevoked(principal(7L, 2, issuedAt))).isTrue();
+        assertThat(revocations.isRevoked(principal(7L, 3, issuedAt))).isFalse();
+        assertThat(revocations.isRevoked(principal(8L, 0, issuedAt))).isFalse();
+    }
+
+    @Test
+    void olderPollResultDoesNotLowerTheVersion() {
+        LocalDateTime now = LocalDateTime.now();
+        when(userRepository.findStatusChangedSince(any())).thenReturn(List.of(status(7L, 3, now)));
+        ReflectionTestUtils.invokeMethod(revocations, "poll");
+        when(userRepository.findStatusChangedSince(any())).thenReturn(List.of(status(7L, 2, now.minusSeconds(5))));
+        ReflectionTestUtils.invokeMethod(revocations, "poll");
+
+        assertThat(revocations.isRevoked(principal(7L, 2, Instant.now()))).isTrue();
+    }
+
+    @Test
+    void changesOlderThanATokenLifetimeAreForgotten() {
+        when(userRepository.findStatusChangedSince(any()))
+            .thenReturn(List.of(status(7L, 3, LocalDateTime.now().minusMinutes(16))));
+        ReflectionTestUtils.invokeMethod(revocations, "poll");
+
+        assertThat(revocations.isRevoked(principal(7L, 2, Instant.now()))).isFalse();
+    }
+
+    private static UserStatus status(Long id, long tokenVersion, LocalDateTime updatedAt) {
+        return new UserStatus() {
+            @Override
+            public Long getId() {
+                return id;
+            }
+
+            @Override
+            public long getTokenVersion() {
+                return tokenVersion;
+            }
+
+            @Override
+            public LocalDateTime getUpdatedAt() {
+                return updatedAt;
+            }
+        };
+    }
+
+    private static JwtPrincipal principal(Long id, long tokenVersion, Instant issuedAt) {
+        return new JwtPrincipal(id, "tester", "ROLE_USER", UUID.randomUUID().toString(), tokenVersion,
+            issuedAt, issuedAt.plus(15, ChronoUnit.MINUTES));
+    }
+}
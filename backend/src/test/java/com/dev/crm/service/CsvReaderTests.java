@@ -0,0 +1,74 @@
+package com.dev.crm.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.StringReader;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CsvReaderTests {
+
+    @Test
+    void readsRecordsUntilEndOfInput() throws IOException {
+        CsvReader reader = new CsvReader(new StringReader("firstName,lastName\nJane,Doe\n"));
+
+        assertThat(reader.next()).containsExactly("firstName", "lastName");
+        assertThat(reader.next()).containsExactly("Jane", "Doe");
+        assertThat(reader.recordNumber()).isEqualTo(2);
+        assertThat(reader.next()).isNull();
+    }
+
+    @Test
+    void quotedFieldsKeepSeparatorsAndEscapedQuotes() throws IOException {
+        CsvReader reader = new CsvReader(new StringReader("\"Doe, Jane\",\"say \"\"hi\"\"\",\"\",plain\n"));
+
+        assertThat(reader.next()).containsExactly("Doe, Jane", "say \"hi\"", "", "plain");
+    }
+
+    @Test
+    void quotedFieldsMaySpanLines() throws IOException {
+        CsvReader reader = new CsvReader(new StringReader(
+            "Jane,\"first line\r\nsecond line\nthird, \"\"quoted\"\"\",Doe\r\nJohn,,Roe\r\n"));
+
+        assertThat(reader.next()).containsExactly("Jane", "first line\r\nsecond line\nthird, \"quoted\"", "Doe");
+        assertThat(reader.recordNumber()).isEqualTo(1);
+        assertThat(reader.next()).containsExactly("John", "", "Roe");
+        assertThat(reader.recordNumber()).isEqualTo(2);
+        assertThat(reader.next()).isNull();
+    }
+
+    @Test
+    void acceptsEveryLineEnding() throws IOException {
+        CsvReader reader = new CsvReader(new StringReader("a,b\r\nc,d\re,f\ng,h"));
+
+        assertThat(reader.next()).containsExactly("a", "b");
+        assertThat(reader.next()).containsExactly("c", "d");
+        assertThat(reader.next()).containsExactly("e", "f");
+        assertThat(reader.next()).containsExactly("g", "h");
+        assertThat(reader.next()).isNull();
+    }
+
+    @Test
+    void skipsBlankLinesWithoutCountingThem() throws IOException {
+        CsvReader reader = new CsvReader(new StringReader("\n\r\na,b\n\n\r\nc,d\n\n"));
+
+        assertThat(reader.next()).containsExactly("a", "b");
+        assertThat(reader.next()).containsExactly("c", "d");
+        assertThat(reader.recordNumber()).isEqualTo(2);
+        assertThat(reader.next()).isNull();
+    }
+
+    @Test
+    void keepsEmptyFields() throws IOException {
+        CsvReader reader = new CsvReader(new StringReader(",,\na,\n"));
+
+        assertThat(reader.next()).containsExactly("", "", "");
+        assertThat(reader.next()).containsExactly("a", "");
+    }
+
+    @Test
+    void emptyInputHasNoRecords() throws IOException {
+        assertThat(new CsvReader(new StringReader("")).next()).isNull();
+    }
+}
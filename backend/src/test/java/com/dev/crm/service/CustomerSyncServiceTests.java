@@ -0,0 +1,149 @@
+package com.dev.crm.service;
+
+import com.dev.crm.dto.CustomerDTO;
+import com.dev.crm.dto.CustomerSyncDTO;
+import com.dev.crm.entity.CustomerChange;
+import com.dev.crm.event.CustomerChangedEvent;
+import com.dev.crm.repository.CustomerChangeRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Limit;
+import org.springframework.test.util.ReflectionTestUtils;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class CustomerSyncServiceTests {
+
+    private final JsonMapper jsonMapper = JsonMapper.builder().build();
+    private final CustomerChangeRepository repository = mock(CustomerChangeRepository.class);
+    private final CustomerSyncService service = new CustomerSyncService(repository, jsonMapper);
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(service, "maxChanges", 3);
+        ReflectionTestUtils.setField(service, "settleSeconds", 5L);
+    }
+
+    @Test
+    void emptyOutboxWatermarkStaysValid() {
+        outbox(0, 0, List.of());
+
+        CustomerSyncDTO reload = service.getChangesSince(null);
+        assertThat(reload.isResyncRequired()).isTrue();
+        assertThat(reload.getWatermark()).isZero();
+
+        CustomerSyncDTO sync = service.getChangesSince(0L);
+        assertThat(sync.isResyncRequired()).isFalse();
+        assertThat(sync.getWatermark()).isZero();
+        assertThat(sync.getChanged()).isEmpty();
+    }
+
+    @Test
+    void watermarkBelowPurgeBoundaryRequiresResync() {
+        outbox(151, 101, List.of());
+
+        CustomerSyncDTO sync = service.getChangesSince(51L);
+
+        assertThat(sync.isResyncRequired()).isTrue();
+        assertThat(sync.getWatermark()).isEqualTo(151);
+    }
+
+    @Test
+    void fullyPurgedOutboxHandsOutTheBoundary() {
+        outbox(0, 101, List.of());
+
+        assertThat(service.getChangesSince(null).getWatermark()).isEqualTo(101);
+        assertThat(service.getChangesSince(101L).isResyncRequired()).isFalse();
+    }
+
+    @Test
+    void watermarkFromPurgedRowAtBoundaryIsStillComplete() {
+        LocalDateTime old = LocalDateTime.now().minusMinutes(1);
+        outbox(151, 101, List.of(change(151, 7, old)));
+
+        CustomerSyncDTO sync = service.getChangesSince(101L);
+
+        assertThat(sync.isResyncRequired()).isFalse();
+        assertThat(sync.getWatermark()).isEqualTo(151);
+        assertThat(sync.getChanged()).extracting(CustomerDTO::getId).containsExactly(7L);
+    }
+
+    @Test
+    void watermarkStopsAtFirstUnsettledChangeEvenOnFullPage() {
+        LocalDateTime old = LocalDateTime.now().minusMinutes(1);
+        LocalDateTime recent = LocalDateTime.now();
+        outbox(251, 0, List.of(
+            change(51, 1, old),
+            change(101, 2, recent),
+            change(151, 3, old),
+            change(201, 4, old)));
+
+        CustomerSyncDTO sync = service.getChangesSince(1L);
+
+        assertThat(sync.getWatermark()).isEqualTo(51);
+        assertThat(sync.isHasMore()).isFalse();
+        assertThat(sync.getChanged()).extracting(CustomerDTO::getId).containsExactly(1L, 2L, 3L);
+    }
+
+    @Test
+    void settledFullPageAdvancesAndReportsMore() {
+        LocalDateTime old = LocalDateTime.now().minusMinutes(1);
+        outbox(251, 0, List.of(
+            change(51, 1, old),
+            change(101, 2, old),
+            change(151, 1, old),
+            change(201, 4, old)));
+
+        CustomerSyncDTO sync = service.getChangesSince(1L);
+
+        assertThat(sync.getWatermark()).isEqualTo(151);
+        assertThat(sync.isHasMore()).isTrue();
+        // Two changes of customer 1 collapse into its latest state
+        assertThat(sync.getChanged()).extracting(CustomerDTO::getId).containsExactly(2L, 1L);
+    }
+
+    @Test
+    void deletionsBecomeTombstones() {
+        LocalDateTime old = LocalDateTime.now().minusMinutes(1);
+        CustomerChange deleted = new CustomerChange(101L, 1L, CustomerChangedEvent.Type.DELETED, null, old);
+        outbox(101, 0, List.of(change(51, 1, old), deleted));
+
+        CustomerSyncDTO sync = service.getChangesSince(1L);
+
+        assertThat(sync.getChanged()).isEmpty();
+        assertThat(sync.getDeleted()).containsExactly(1L);
+        assertThat(sync.getWatermark()).isEqualTo(101);
+    }
+
+    private void outbox(long maxId, long purgedThrough, List<CustomerChange> changes) {
+        when(repository.findMaxId()).thenReturn(maxId);
+        when(repository.findPurgedThrough()).thenReturn(purgedThrough);
+        when(repository.findByIdGreaterThanOrderById(anyLong(), any(Limit.class))).thenAnswer(invocation -> {
+            long after = invocation.getArgument(0);
+            int limit = invocation.<Limit>getArgument(1).max();
+            List<CustomerChange> page = new ArrayList<>();
+            for (CustomerChange change : changes) {
+                if (change.getId() > after && page.size() < limit) {
+                    page.add(change);
+                }
+            }
+            return page;
+        });
+    }
+
+    private CustomerChange change(long id, long customerId, LocalDateTime changedAt) {
+        CustomerDTO customer = new CustomerDTO(customerId, "Jane", "Doe", "jane" + customerId + "@example.com",
+            null, "Acme", null, changedAt, changedAt);
+        return new CustomerChange(id, customerId, CustomerChangedEvent.Type.UPDATED,
+            jsonMapper.writeValueAsString(customer), changedAt);
+    }
+}
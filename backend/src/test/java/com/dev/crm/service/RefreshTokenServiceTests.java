@@ -0,0 +1,103 @@
+package com.dev.crm.service;
+
+import com.dev.crm.entity.RefreshToken;
+import com.dev.crm.exception.UnauthorizedException;
+import com.dev.crm.repository.RefreshTokenRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class RefreshTokenServiceTests {
+
+    private final RefreshTokenRepository repository = mock(RefreshTokenRepository.class);
+    private final RefreshTokenService service = new RefreshTokenService(repository);
+    // token hash -> row, standing in for the refresh_tokens table
+    private final Map<String, RefreshToken> rows = new HashMap<>();
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(service, "expirationDays", 14L);
+        when(repository.save(any(RefreshToken.class))).thenAnswer(invocation -> {
+            RefreshToken token = invocation.getArgument(0);
+            rows.put(token.getTokenHash(), token);
+            return token;
+        });
+        when(repository.findForUpdate(anyString()))
+            .thenAnswer(invocation -> Optional.ofNullable(rows.get(invocation.<String>getArgument(0))));
+        when(repository.findById(anyString()))
+            .thenAnswer(invocation -> Optional.ofNullable(rows.get(invocation.<String>getArgument(0))));
+        when(repository.deleteByFamilyId(anyString())).thenAnswer(invocation -> {
+            String familyId = invocation.getArgument(0);
+            int before = rows.size();
+            rows.values().removeIf(token -> token.getFamilyId().equals(familyId));
+            return before - rows.size();
+        });
+    }
+
+    @Test
+    void rotationKeepsUserAndFamily() {
+        String first = service.issue(7L);
+        RefreshToken consumed = service.consume(first);
+        assertThat(consumed.getUserId()).isEqualTo(7L);
+        assertThat(consumed.isUsed()).isTrue();
+
+        String second = service.issue(consumed.getUserId(), consumed.getFamilyId());
+        assertThat(second).isNotEqualTo(first);
+        RefreshToken next = service.consume(second);
+        assertThat(next.getFamilyId()).isEqualTo(consumed.getFamilyId());
+        assertThat(next.getUserId()).isEqualTo(7L);
+    }
+
+    @Test
+    void reuseRevokesTheWholeFamily() {
+        String first = service.issue(7L);
+        RefreshToken consumed = service.consume(first);
+        String second = service.issue(7L, consumed.getFamilyId());
+        String otherLogin = service.issue(7L);
+
+        assertThatThrownBy(() -> service.consume(first)).isInstanceOf(UnauthorizedException.class);
+
+        assertThatThrownBy(() -> service.consume(second)).isInstanceOf(UnauthorizedException.class);
+        assertThat(service.consume(otherLogin).getUserId()).isEqualTo(7L);
+    }
+
+    @Test
+    void expiredTokenIsRefusedWithoutEndingTheFamily() {
+        String token = service.issue(7L);
+        RefreshToken row = rows.values().iterator().next();
+        row.setExpiresAt(LocalDateTime.now().minusSeconds(1));
+
+        assertThatThrownBy(() -> service.consume(token)).isInstanceOf(UnauthorizedException.class);
+        assertThat(rows).containsValue(row);
+        assertThat(row.isUsed()).isFalse();
+    }
+
+    @Test
+    void unknownTokenIsRefused() {
+        assertThatThrownBy(() -> service.consume("not-a-token")).isInstanceOf(UnauthorizedException.class);
+    }
+
+    @Test
+    void revokeFamilyEndsTheLogin() {
+        String first = service.issue(7L);
+        String second = service.issue(7L, service.consume(first).getFamilyId());
+
+        service.revokeFamily(first);
+
+        assertThat(rows).isEmpty();
+        assertThatThrownBy(() -> service.consume(second)).isInstanceOf(UnauthorizedException.class);
+        service.revokeFamily("not-a-token");
+    }
+}
@@ -0,0 +1,125 @@
+package com.dev.crm.stats;
+
+import com.dev.crm.dto.CustomerDTO;
+import com.dev.crm.event.CustomerChangedEvent;
+import com.dev.crm.repository.CustomerRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class CustomerStatisticsTests {
+
+    private final CustomerRepository repository = mock(CustomerRepository.class);
+    private final CustomerStatistics statistics =
+        new CustomerStatistics(repository, mock(PlatformTransactionManager.class));
+    private long nextId = 1;
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(statistics, "snapshotMs", 0L);
+        ReflectionTestUtils.setField(statistics, "topCompanies", 2);
+        ReflectionTestUtils.setField(statistics, "days", 30);
+        ReflectionTestUtils.setField(statistics, "weeks", 12);
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+        TransactionSynchronizationManager.unbindResourceIfPossible(statistics);
+    }
+
+    @Test
+    void companyWhoseLastCustomerLeavesIsRemoved() {
+        CustomerDTO acme = customer("Acme");
+        CustomerDTO initech = customer("Initech");
+        commit(CustomerChangedEvent.created(acme), CustomerChangedEvent.created(initech));
+        commit(CustomerChangedEvent.updated(initech, moved(initech, "Acme")));
+        commit(CustomerChangedEvent.deleted(acme));
+
+        assertThat(companyCounts()).containsOnlyKeys("Acme");
+        assertThat(statistics.getStats().getCompanies()).isEqualTo(1);
+    }
+
+    @Test
+    void keepsLargestCompaniesMostCustomersFirst() {
+        commit(CustomerChangedEvent.created(customer("Acme")));
+        commit(CustomerChangedEvent.created(customer("Globex")), CustomerChangedEvent.created(customer("Globex")));
+        commit(CustomerChangedEvent.created(customer("Initech")), CustomerChangedEvent.created(customer("Initech")));
+        commit(CustomerChangedEvent.created(customer("Umbrella")));
+
+        assertThat(statistics.getStats().getByCompany())
+            .containsExactly(Map.entry("Globex", 2L), Map.entry("Initech", 2L));
+        assertThat(statistics.getStats().getCompanies()).isEqualTo(4);
+    }
+
+    @Test
+    void eventsDoNotCountUntilCommit() {
+        TransactionSynchronizationManager.initSynchronization();
+        statistics.onCustomerChanged(CustomerChangedEvent.created(customer("Acme")));
+
+        assertThat(statistics.getStats().getTotal()).isZero();
+    }
+
+    @Test
+    void reconcileReplaysOnlyCommitsAfterItsSnapshot() {
+        // Already in the table when the snapshot is taken
+        commit(CustomerChangedEvent.created(customer("Acme")), CustomerChangedEvent.created(customer("Acme")));
+        when(repository.countByCompany()).thenAnswer(invocation -> {
+            // Commits while the GROUP BY runs; not in its result
+            commit(CustomerChangedEvent.created(customer("Globex")));
+            return List.<Object[]>of(new Object[] {"Acme", 2L});
+        });
+
+        statistics.reconcile();
+
+        assertThat(statistics.getStats().getTotal()).isEqualTo(3);
+        assertThat(companyCounts()).containsOnly(Map.entry("Acme", 2L), Map.entry("Globex", 1L));
+    }
+
+    @SuppressWarnings("unchecked")
+    private Map<String, Long> companyCounts() {
+        Object counters = ReflectionTestUtils.getField(statistics, "counters");
+        return (Map<String, Long>) ReflectionTestUtils.getField(counters, "byCompany");
+    }
+
+    private void commit(CustomerChangedEvent... events) {
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            for (CustomerChangedEvent event : events) {
+                statistics.onCustomerChanged(event);
+            }
+            List<TransactionSynchronization> synchronizations = TransactionSynchronizationManager.getSynchronizations();
+            synchronizations.forEach(synchronization -> synchronization.beforeCommit(false));
+            synchronizations.forEach(TransactionSynchronization::afterCommit);
+            synchronizations.forEach(synchronization ->
+                synchronization.afterCompletion(TransactionSynchronization.STATUS_COMMITTED));
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    private CustomerDTO customer(String company) {
+        long id = nextId++;
+        return new CustomerDTO(id, "Jane", "Doe", "jane" + id + "@example.com", null, company, null,
+            LocalDateTime.now(), LocalDateTime.now());
+    }
+
+    private static CustomerDTO moved(CustomerDTO customer, String company) {
+        return new CustomerDTO(customer.getId(), customer.getFirstName(), customer.getLastName(), customer.getEmail(),
+            customer.getPhoneNumber(), company, customer.getNotes(), customer.getCreatedAt(), LocalDateTime.now());
+    }
+}
@@ -15,6 +15,8 @@ export interface InfoResponse {
 export interface AuthResponse {
   token: string;
   type: string;
+  refreshToken: string;
+  expiresIn: number;
   id: number;
   username: string;
   email: string;
@@ -37,11 +39,51 @@ export interface RegisterRequest {
 }
 
 class ApiService {
+  // Shared by concurrent requests that hit an expired access token at the same time
+  private refreshing: Promise<boolean> | null = null;
+
   private getAuthToken(): string | null {
     return localStorage.getItem('token');
   }
 
-  private async fetchJson<T>(url: string, options?: RequestInit): Promise<T> {
+  private storeSession(response: AuthResponse): void {
+    localStorage.setItem('token', response.token);
+    localStorage.setItem('refreshToken', response.refreshToken);
+    localStorage.setItem('user', JSON.stringify(response));
+  }
+
+  private clearSession(): void {
+    localStorage.removeItem('token');
+    localStorage.removeItem('refreshToken');
+    localStorage.removeItem('user');
+  }
+
+  // Trade the refresh token for a new pair; each refresh token works only once
+  private refreshSession(): Promise<boolean> {
+    if (!this.refreshing) {
+      const refreshToken = localStorage.getItem('refreshToken');
+      this.refreshing = (async () => {
+        if (!refreshToken) {
+          return false;
+        }
+        const response = await fetch(`${API_BASE_URL}/auth/refresh`, {
+          method: 'POST',
+          headers: { 'Content-Type': 'application/json' },
+          body: JSON.stringify({ refreshToken }),
+        });
+        if (!response.ok) {
+          return false;
+        }
+        this.storeSession(await response.json());
+        return true;
+      })().finally(() => {
+        this.refreshing = null;
+      });
+    }
+    return this.refreshing;
+  }
+
+  private async fetchJson<T>(url: string, options?: RequestInit, retried = false): Promise<T> {
     const token = this.getAuthToken();
     const headers: HeadersInit = {
       'Content-Type': 'application/json',
@@ -59,8 +101,11 @@ class ApiService {
 
     if (!response.ok) {
       if (response.status === 401) {
-        localStorage.removeItem('token');
-        localStorage.removeItem('user');
+        // Access tokens are short-lived: renew once and retry before giving up
+        if (!retried && token && (await this.refreshSession())) {
+          return this.fetchJson<T>(url, options, true);
+        }
+        this.clearSession();
         window.location.href = '/login';
       }
       const error = await response.text();
@@ -76,8 +121,7 @@ class ApiService {
       method: 'POST',
       body: JSON.stringify(credentials),
     });
-    localStorage.setItem('token', response.token);
-    localStorage.setItem('user', JSON.stringify(response));
+    this.storeSession(response);
     return response;
   }
 
@@ -86,14 +130,23 @@ class ApiService {
       method: 'POST',
       body: JSON.stringify(userData),
     });
-    localStorage.setItem('token', response.token);
-    localStorage.setItem('user', JSON.stringify(response));
+    this.storeSession(response);
     return response;
   }
 
   logout(): void {
-    localStorage.removeItem('token');
-    localStorage.removeItem('user');
+    const token = this.getAuthToken();
+    const refreshToken = localStorage.getItem('refreshToken');
+    this.clearSession();
+    // Best effort: revoke the tokens server-side; the local session is gone either way
+    fetch(`${API_BASE_URL}/auth/logout`, {
+      method: 'POST',
+      headers: {
+        'Content-Type': 'application/json',
+        ...(token ? { Authorization: `Bearer ${token}` } : {}),
+      },
+      body: JSON.stringify({ refreshToken }),
+    }).catch(() => undefined);
   }
 
   getCurrentUser(): AuthResponse | null {